@@ -0,0 +1,56 @@
+package com.project.back_end.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.back_end.DTO.DoctorSuggestion;
+import com.project.back_end.services.DoctorService;
+
+/**
+ * Doctor search-as-you-type over the 10k-doctor roster: a two-letter prefix,
+ * a full surname, a specialty prefix and a surname with swapped letters.
+ * {@code linearScan} is the substring filter the trigram index replaces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class DoctorSearchBenchmark {
+
+    @Param({"sm", "johnson", "cardio", "jonhson"})
+    public String query;
+
+    private DoctorService doctorService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData();
+        doctorService = data.doctorService(data.tokenService(1_000));
+        doctorService.getDoctors();
+    }
+
+    @Benchmark
+    public List<DoctorSuggestion> typeahead() {
+        return doctorService.suggestDoctors(query, 10);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        return doctorService.filterDoctors(query, null, null).size();
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.back_end.bench;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.services.DoctorService;
+import com.project.back_end.services.Service;
+
+/**
+ * Doctor roster and slot checks: the directory's AM/PM filter behind the
+ * unpaged doctor search, per-day availability and
+ * {@link Service#validateAppointment} against a warm occupancy index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class DoctorServiceBenchmark {
+
+    @Param({"AM", "PM"})
+    public String amOrPm;
+
+    private SyntheticData data;
+    private DoctorService doctorService;
+    private Service service;
+    private List<Doctor> roster;
+    private Appointment[] candidates;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new SyntheticData();
+        doctorService = data.doctorService(data.tokenService(1_000));
+        service = data.service(data.tokenService(1_000), doctorService);
+        roster = doctorService.getDoctors();
+
+        // one candidate per doctor and day, spread over the booking window
+        candidates = new Appointment[4_096];
+        for (int i = 0; i < candidates.length; i++) {
+            Doctor doctor = roster.get((i * 7919) % roster.size());
+            LocalDate date = data.firstDay.plusDays(i % SyntheticData.DAYS);
+            int startMinute = doctor.getAvailableTimes().get(i % doctor.getAvailableTimes().size()).getStartMinute();
+            candidates[i] = new Appointment(null, doctor, data.patients.get(i), date.atStartOfDay().plusMinutes(startMinute), 0);
+        }
+        // warm the occupancy index so steady-state lookups are measured
+        for (Appointment candidate : candidates) {
+            service.validateAppointment(candidate);
+        }
+    }
+
+    @Benchmark
+    public List<Doctor> filterDoctors() {
+        return doctorService.filterDoctors(null, null, amOrPm);
+    }
+
+    @Benchmark
+    public List<String> getDoctorAvailability() {
+        Appointment candidate = candidates[next++ & (candidates.length - 1)];
+        return doctorService.getDoctorAvailability(candidate.getDoctor().getId(),
+                candidate.getAppointmentTime().toLocalDate());
+    }
+
+    @Benchmark
+    public int validateAppointment() {
+        return service.validateAppointment(candidates[next++ & (candidates.length - 1)]);
+    }
+}
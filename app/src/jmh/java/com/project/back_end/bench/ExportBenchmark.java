@@ -0,0 +1,104 @@
+package com.project.back_end.bench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.services.ExportService;
+
+/**
+ * One full appointment export per invocation: {@code rows} DTOs are produced
+ * lazily, the way the database cursor hands them over, and written as NDJSON
+ * or CSV to a sink that only counts bytes. The fork runs in a 64 MB heap, so a
+ * writer that buffered the export would fail rather than just run slowly.
+ * Divide {@code rows} by the score for rows per second; the database read is
+ * not included.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms64m", "-Xmx64m"})
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    private static final int DOCTORS = 1_000;
+    private static final int PATIENTS = 50_000;
+
+    @Param({"5000000"})
+    public int rows;
+
+    @Param({"NDJSON", "CSV"})
+    public ExportService.Format format;
+
+    private ExportService exportService;
+    private LocalDateTime start;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        exportService = new ExportService(null, Jackson2ObjectMapperBuilder.json().build(), null);
+        start = LocalDateTime.now().withNano(0).withSecond(0).withMinute(0);
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        CountingSink sink = new CountingSink();
+        long written = exportService.write(appointments(), format, sink);
+        if (written != rows) {
+            throw new IllegalStateException("wrote " + written + " of " + rows + " rows");
+        }
+        return sink.bytes;
+    }
+
+    private Iterator<AppointmentDTO> appointments() {
+        return new Iterator<>() {
+            private long next;
+
+            @Override
+            public boolean hasNext() {
+                return next < rows;
+            }
+
+            @Override
+            public AppointmentDTO next() {
+                long id = ++next;
+                long doctorId = id % DOCTORS + 1;
+                long patientId = id % PATIENTS + 1;
+                return new AppointmentDTO(id, doctorId, "Dr. Doctor " + doctorId, patientId, "Patient " + patientId,
+                        "patient" + patientId + "@example.com", "555" + (1_000_000 + patientId),
+                        patientId + " Main Street", start.plusMinutes(id / DOCTORS * 60), (int) (id & 1));
+            }
+        };
+    }
+
+    private static final class CountingSink extends OutputStream {
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
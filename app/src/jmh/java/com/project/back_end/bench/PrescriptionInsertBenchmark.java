@@ -0,0 +1,131 @@
+package com.project.back_end.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+
+/**
+ * Saving a prescription into a collection that already holds {@code size}
+ * documents. {@code lookupThenInsert} is the old path: find by appointmentId
+ * (a collection scan without the index), then insert. {@code uniqueInsert} is
+ * the current path: one insert against the unique index, where a duplicate
+ * comes back as a write error.
+ *
+ * <p>Unlike the other benchmarks this one needs a real MongoDB, since the cost
+ * being measured is the server's index and scan work. It writes to a scratch
+ * database, {@code -Dbench.mongo.uri=mongodb://host:27017} by default
+ * localhost. Seeding 1M documents takes a few seconds per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrescriptionInsertBenchmark {
+
+    private static final int SEED_BATCH = 10_000;
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"lookupThenInsert", "uniqueInsert"})
+    private String strategy;
+
+    private MongoClient client;
+    private MongoCollection<Document> prescriptions;
+    private long nextAppointmentId;
+    private long existing;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        client = MongoClients.create(System.getProperty("bench.mongo.uri", "mongodb://localhost:27017"));
+        prescriptions = client.getDatabase("prescriptions_bench").getCollection("prescriptions");
+        prescriptions.drop();
+        if (strategy.equals("uniqueInsert")) {
+            prescriptions.createIndex(Indexes.ascending("appointmentId"), new IndexOptions().unique(true));
+        }
+        List<Document> batch = new ArrayList<>(SEED_BATCH);
+        for (long id = 1; id <= size; id++) {
+            batch.add(prescription(id));
+            if (batch.size() == SEED_BATCH) {
+                prescriptions.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            prescriptions.insertMany(batch);
+        }
+        nextAppointmentId = size + 1L;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        prescriptions.drop();
+        client.close();
+    }
+
+    /** A new appointment id, so every call stores a document. */
+    @Benchmark
+    public boolean save() {
+        return save(nextAppointmentId++);
+    }
+
+    /** An id that is already stored, so every call is rejected. */
+    @Benchmark
+    public boolean saveExisting() {
+        existing = existing % size + 1;
+        return save(existing);
+    }
+
+    private boolean save(long appointmentId) {
+        if (strategy.equals("lookupThenInsert")) {
+            if (prescriptions.find(Filters.eq("appointmentId", appointmentId)).first() != null) {
+                return false;
+            }
+            prescriptions.insertOne(prescription(appointmentId));
+            return true;
+        }
+        try {
+            prescriptions.insertOne(prescription(appointmentId));
+            return true;
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                throw e;
+            }
+            return false;
+        }
+    }
+
+    private static Document prescription(long appointmentId) {
+        return new Document("patientName", "Patient " + appointmentId)
+                .append("appointmentId", appointmentId)
+                .append("medication", "Amoxicillin")
+                .append("dosage", "500mg twice daily")
+                .append("doctorNotes", "Take with food");
+    }
+}
@@ -0,0 +1,79 @@
+package com.project.back_end.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+
+/**
+ * Response building for the list endpoints: entity-to-{@link AppointmentDTO}
+ * mapping and Jackson serialization of appointment lists and the full doctor
+ * roster, with an ObjectMapper configured the way Spring MVC builds it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"50", "500"})
+    public int appointments;
+
+    private ObjectMapper objectMapper;
+    private List<Appointment> entities;
+    private List<AppointmentDTO> dtos;
+    private List<Doctor> roster;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        entities = data.appointmentsOf(data.doctors.get(0), appointments);
+        dtos = mapToDtos();
+        roster = data.doctorDirectory().all();
+    }
+
+    @Benchmark
+    public List<AppointmentDTO> mapToDtos() {
+        List<AppointmentDTO> result = new ArrayList<>(entities.size());
+        for (Appointment app : entities) {
+            result.add(new AppointmentDTO(app.getId(), app.getDoctor().getId(), app.getDoctor().getName(),
+                    app.getPatient().getId(), app.getPatient().getName(), app.getPatient().getEmail(),
+                    app.getPatient().getPhone(), app.getPatient().getAddress(), app.getAppointmentTime(),
+                    app.getStatus()));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeAppointments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(Map.of("appointments", dtos));
+    }
+
+    @Benchmark
+    public byte[] serializeDoctors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(Map.of("doctors", roster));
+    }
+}
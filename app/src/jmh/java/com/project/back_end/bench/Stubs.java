@@ -0,0 +1,35 @@
+package com.project.back_end.bench;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Dynamic-proxy stand-ins for Spring Data repositories, so services can be
+ * benchmarked without a database. Only the named methods are answered; any
+ * other call fails loudly instead of silently returning null.
+ */
+final class Stubs {
+
+    private Stubs() {}
+
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            switch (method.getName()) {
+                case "toString":
+                    return type.getSimpleName() + " stub";
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "equals":
+                    return self == args[0];
+                default:
+                    throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,189 @@
+package com.project.back_end.bench;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.TimeSlot;
+import com.project.back_end.repo.AdminRepository;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorMonthlyCountRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.services.DoctorDirectory;
+import com.project.back_end.services.DoctorService;
+import com.project.back_end.services.PatientAppointmentIndex;
+import com.project.back_end.services.PatientService;
+import com.project.back_end.services.Service;
+import com.project.back_end.services.SlotOccupancyIndex;
+import com.project.back_end.services.TokenService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A seeded clinic of 10k doctors and 1M future appointments (100 per doctor
+ * over the next {@value #DAYS} days), wired into the real services through
+ * repository stubs. Appointment times are kept as sorted epoch minutes per
+ * doctor so the roster fits comfortably in a benchmark fork's heap.
+ */
+final class SyntheticData {
+
+    static final int DOCTORS = 10_000;
+    static final int APPOINTMENTS_PER_DOCTOR = 100;
+    static final int PATIENTS = 50_000;
+    static final int DAYS = 30;
+    static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private static final String[] SPECIALTIES = {"Cardiologist", "Dermatologist", "Neurologist", "Pediatrician",
+            "Orthopedic", "Gynecologist", "Psychiatrist", "Dentist", "Ophthalmologist", "ENT", "Urologist",
+            "Oncologist"};
+    private static final String[] FIRST = {"Emily", "Mark", "Sarah", "David", "Anna", "James", "Laura", "Robert",
+            "Olivia", "Daniel", "Grace", "Henry"};
+    private static final String[] LAST = {"Adams", "Johnson", "Smith", "Lee", "Brown", "Wilson", "Taylor", "Clark",
+            "Davis", "Moore", "Hall", "Young"};
+
+    final LocalDate firstDay = LocalDate.now().plusDays(1);
+    final List<Doctor> doctors = new ArrayList<>(DOCTORS);
+    final List<Patient> patients = new ArrayList<>(PATIENTS);
+    // doctorId - 1 -> sorted appointment start times in epoch minutes (UTC)
+    final long[][] bookedMinutes = new long[DOCTORS][];
+
+    final DoctorRepository doctorRepository;
+    final AppointmentRepository appointmentRepository;
+    final PatientRepository patientRepository;
+    final AdminRepository adminRepository;
+
+    SyntheticData() {
+        Random random = new Random(42);
+        for (int i = 1; i <= DOCTORS; i++) {
+            List<TimeSlot> slots = new ArrayList<>();
+            for (int hour = 9; hour < 17; hour++) {
+                if (random.nextInt(3) > 0) {
+                    slots.add(new TimeSlot(hour * 60, hour * 60 + 60));
+                }
+            }
+            if (slots.isEmpty()) {
+                slots.add(new TimeSlot(9 * 60, 10 * 60));
+            }
+            String name = "Dr. " + FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)] + " " + i;
+            doctors.add(new Doctor((long) i, name, SPECIALTIES[random.nextInt(SPECIALTIES.length)],
+                    "doctor" + i + "@example.com", "secret123", String.format("555%07d", i), slots));
+
+            long[] minutes = new long[APPOINTMENTS_PER_DOCTOR];
+            for (int a = 0; a < APPOINTMENTS_PER_DOCTOR; a++) {
+                TimeSlot slot = slots.get(random.nextInt(slots.size()));
+                LocalDateTime start = firstDay.plusDays(random.nextInt(DAYS)).atStartOfDay()
+                        .plusMinutes(slot.getStartMinute());
+                minutes[a] = start.toEpochSecond(ZoneOffset.UTC) / 60;
+            }
+            Arrays.sort(minutes);
+            bookedMinutes[i - 1] = minutes;
+        }
+        for (int i = 1; i <= PATIENTS; i++) {
+            patients.add(new Patient((long) i, "Patient " + i, "patient" + i + "@example.com", "secret123",
+                    String.format("777%07d", i), i + " Main Street"));
+        }
+
+        doctorRepository = Stubs.repository(DoctorRepository.class, Map.of(
+                "findAllWithAvailableTimes", args -> doctors,
+                "findByEmail", args -> doctors.get(doctorIndex((String) args[0]))));
+        appointmentRepository = Stubs.repository(AppointmentRepository.class, Map.of(
+                "findBookedTimes", args -> booked((Long) args[0], (LocalDateTime) args[1], (LocalDateTime) args[2]),
+                "findBookedTimesForDoctors", args -> bookedForDoctors(castIds(args[0]), (LocalDateTime) args[1],
+                        (LocalDateTime) args[2])));
+        patientRepository = Stubs.repository(PatientRepository.class, Map.of());
+        adminRepository = Stubs.repository(AdminRepository.class, Map.of());
+    }
+
+    TokenService tokenService(int claimsCacheSize) {
+        return new TokenService(adminRepository, doctorRepository, patientRepository, new SimpleMeterRegistry(), SECRET,
+                claimsCacheSize);
+    }
+
+    DoctorDirectory doctorDirectory() {
+        DoctorDirectory directory = new DoctorDirectory(doctorRepository);
+        ReflectionTestUtils.setField(directory, "maxAgeSeconds", 300L);
+        return directory;
+    }
+
+    DoctorService doctorService(TokenService tokenService) {
+        DoctorService doctorService = new DoctorService(doctorRepository, appointmentRepository, tokenService,
+                new SlotOccupancyIndex(appointmentRepository, 3600), doctorDirectory(),
+                new PatientAppointmentIndex(appointmentRepository, 10_000, 60), null,
+                Stubs.repository(DoctorMonthlyCountRepository.class, Map.of()), null);
+        return doctorService;
+    }
+
+    Service service(TokenService tokenService, DoctorService doctorService) {
+        return new Service(tokenService, adminRepository, doctorService, doctorRepository, patientRepository,
+                new PatientService(patientRepository, appointmentRepository,
+                        new PatientAppointmentIndex(appointmentRepository, 10_000, 60)), null);
+    }
+
+    /** @return Appointment entities for the given doctor, as a JPA query would hand them out */
+    List<Appointment> appointmentsOf(Doctor doctor, int count) {
+        long[] minutes = bookedMinutes[(int) (doctor.getId() - 1)];
+        List<Appointment> appointments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Patient patient = patients.get((int) ((doctor.getId() * 31 + i) % PATIENTS));
+            appointments.add(new Appointment((long) i + 1, doctor, patient,
+                    LocalDateTime.ofEpochSecond(minutes[i % minutes.length] * 60, 0, ZoneOffset.UTC), 0));
+        }
+        return appointments;
+    }
+
+    private List<LocalDateTime> booked(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        long[] minutes = bookedMinutes[(int) (doctorId - 1)];
+        long from = start.toEpochSecond(ZoneOffset.UTC) / 60;
+        long to = end.toEpochSecond(ZoneOffset.UTC) / 60;
+        List<LocalDateTime> times = new ArrayList<>();
+        for (int i = lowerBound(minutes, from); i < minutes.length && minutes[i] < to; i++) {
+            times.add(LocalDateTime.ofEpochSecond(minutes[i] * 60, 0, ZoneOffset.UTC));
+        }
+        return times;
+    }
+
+    private List<Object[]> bookedForDoctors(Collection<Long> doctorIds, LocalDateTime start, LocalDateTime end) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long doctorId : doctorIds) {
+            for (LocalDateTime time : booked(doctorId, start, end)) {
+                rows.add(new Object[] {doctorId, time});
+            }
+        }
+        return rows;
+    }
+
+    private static int lowerBound(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Long> castIds(Object ids) {
+        return (Collection<Long>) ids;
+    }
+
+    private static int doctorIndex(String email) {
+        return Integer.parseInt(email.substring("doctor".length(), email.indexOf('@'))) - 1;
+    }
+}
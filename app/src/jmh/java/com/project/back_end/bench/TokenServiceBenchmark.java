@@ -0,0 +1,68 @@
+package com.project.back_end.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.back_end.services.TokenService;
+
+/**
+ * JWT signing and subject extraction. {@code extractEmailCached} replays a
+ * working set that fits the claims cache; {@code extractEmailUncached} cycles
+ * through more tokens than a one-entry cache holds, so every call verifies the
+ * signature.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+
+    private static final int TOKENS = 1_024;
+
+    private TokenService cached;
+    private TokenService uncached;
+    private String[] tokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData();
+        cached = data.tokenService(TOKENS * 2);
+        uncached = data.tokenService(1);
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = cached.generateToken("patient" + (i + 1) + "@example.com");
+        }
+        for (String token : tokens) {
+            cached.extractEmail(token);
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken("patient" + (next++ & (TOKENS - 1)) + "@example.com");
+    }
+
+    @Benchmark
+    public String extractEmailCached() {
+        return cached.extractEmail(tokens[next++ & (TOKENS - 1)]);
+    }
+
+    @Benchmark
+    public String extractEmailUncached() {
+        return uncached.extractEmail(tokens[next++ & (TOKENS - 1)]);
+    }
+}
@@ -0,0 +1,96 @@
+package com.project.back_end.DTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Position and size of a keyset (seek) page over appointments ordered by
+ * (appointmentTime, id). Clients only see the opaque string form returned as
+ * {@code nextCursor}, so every page costs the same index seek as the first.
+ */
+public class AppointmentCursor {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    // Sorts before every stored appointment; used for the first page
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LocalDateTime afterTime;
+    private final long afterId;
+    private final int size;
+
+    private AppointmentCursor(LocalDateTime afterTime, long afterId, int size) {
+        this.afterTime = afterTime;
+        this.afterId = afterId;
+        this.size = size;
+    }
+
+    /**
+     * Builds the page request from the optional query parameters.
+     * @return null when neither is given, meaning the caller wants the full list
+     * @throws IllegalArgumentException if the cursor is malformed or the size out of range
+     */
+    public static AppointmentCursor of(String cursor, Integer size) {
+        if (cursor == null && size == null) {
+            return null;
+        }
+        int pageSize = size == null ? DEFAULT_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SIZE);
+        }
+        if (cursor == null || cursor.isEmpty()) {
+            return new AppointmentCursor(START, 0, pageSize);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            return new AppointmentCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)), pageSize);
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /** @return The opaque cursor that continues after the given row */
+    public static String encode(LocalDateTime appointmentTime, Long id) {
+        String raw = appointmentTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getAfterTime() {
+        return afterTime;
+    }
+
+    public long getAfterId() {
+        return afterId;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /** @return A limit of size + 1 rows; the extra row tells whether another page exists */
+    public Pageable limit() {
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Drops the extra row fetched by {@link #limit()} from the page.
+     * @return The cursor of the next page, or null if this is the last one
+     */
+    public String trim(List<AppointmentDTO> rows) {
+        if (rows.size() <= size) {
+            return null;
+        }
+        rows.subList(size, rows.size()).clear();
+        AppointmentDTO last = rows.get(size - 1);
+        return encode(last.getAppointmentTime(), last.getId());
+    }
+}
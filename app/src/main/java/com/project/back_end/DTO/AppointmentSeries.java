@@ -0,0 +1,120 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * A request to book several appointments with one doctor: either an explicit
+ * list of {@code appointmentTimes}, or a recurring series of
+ * {@code occurrences} starting at {@code start}, {@code intervalDays} apart
+ * (weekly by default).
+ */
+public class AppointmentSeries {
+
+    private static final int WEEKLY = 7;
+
+    @NotNull(message = "Doctor must be assigned to the appointments")
+    private Long doctorId;
+
+    private List<LocalDateTime> appointmentTimes;
+
+    private LocalDateTime start;
+    private Integer occurrences;
+    private Integer intervalDays;
+
+    public AppointmentSeries() {}
+
+    /** @return How many appointments the request asks for, without building the list */
+    public int requestedCount() {
+        if (appointmentTimes != null && !appointmentTimes.isEmpty()) {
+            return appointmentTimes.size();
+        }
+        return start == null || occurrences == null ? 0 : occurrences;
+    }
+
+    /**
+     * Computed from epoch days without building the times, so a huge
+     * {@code intervalDays} cannot overflow.
+     * @return The epoch day of the latest requested occurrence, or null if
+     *         the request names no time or a listed time is null
+     */
+    public Long lastEpochDay() {
+        if (appointmentTimes != null && !appointmentTimes.isEmpty()) {
+            long last = Long.MIN_VALUE;
+            for (LocalDateTime time : appointmentTimes) {
+                if (time == null) {
+                    return null;
+                }
+                last = Math.max(last, time.toLocalDate().toEpochDay());
+            }
+            return last;
+        }
+        if (start == null || occurrences == null || occurrences < 1) {
+            return null;
+        }
+        int interval = intervalDays == null ? WEEKLY : intervalDays;
+        return start.toLocalDate().toEpochDay() + (long) (occurrences - 1) * interval;
+    }
+
+    /**
+     * @return The requested start times in request order; empty if the
+     *         request names neither a list nor a series
+     */
+    public List<LocalDateTime> occurrenceTimes() {
+        if (appointmentTimes != null && !appointmentTimes.isEmpty()) {
+            return appointmentTimes;
+        }
+        List<LocalDateTime> times = new ArrayList<>();
+        if (start == null || occurrences == null) {
+            return times;
+        }
+        int interval = intervalDays == null ? WEEKLY : intervalDays;
+        for (int i = 0; i < occurrences; i++) {
+            times.add(start.plusDays((long) i * interval));
+        }
+        return times;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public List<LocalDateTime> getAppointmentTimes() {
+        return appointmentTimes;
+    }
+
+    public void setAppointmentTimes(List<LocalDateTime> appointmentTimes) {
+        this.appointmentTimes = appointmentTimes;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    public Integer getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(Integer occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    public Integer getIntervalDays() {
+        return intervalDays;
+    }
+
+    public void setIntervalDays(Integer intervalDays) {
+        this.intervalDays = intervalDays;
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.back_end.DTO;
+
+/**
+ * The caller of a request, as resolved from their token: the role the token
+ * was accepted for and the matching admin, doctor or patient row.
+ */
+public class AuthenticatedUser {
+
+    private final String role;
+    private final Long id;
+    private final String email;
+    private final Object account;
+
+    public AuthenticatedUser(String role, Long id, String email, Object account) {
+        this.role = role;
+        this.id = id;
+        this.email = email;
+        this.account = account;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /** @return The email, or the username for admins */
+    public String getEmail() {
+        return email;
+    }
+
+    /** @return The {@code Admin}, {@code Doctor} or {@code Patient} loaded while authenticating */
+    public Object getAccount() {
+        return account;
+    }
+}
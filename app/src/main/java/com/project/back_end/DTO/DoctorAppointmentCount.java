@@ -0,0 +1,35 @@
+package com.project.back_end.DTO;
+
+/**
+ * A doctor and how many appointments they hold in the requested month or year.
+ */
+public class DoctorAppointmentCount {
+
+    private final Long doctorId;
+    private final String doctorName;
+    private final String specialty;
+    private final long appointments;
+
+    public DoctorAppointmentCount(Long doctorId, String doctorName, String specialty, long appointments) {
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.specialty = specialty;
+        this.appointments = appointments;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public String getSpecialty() {
+        return specialty;
+    }
+
+    public long getAppointments() {
+        return appointments;
+    }
+}
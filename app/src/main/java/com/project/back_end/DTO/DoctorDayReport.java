@@ -0,0 +1,36 @@
+package com.project.back_end.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One doctor's section of the daily appointment report: the doctor and their
+ * appointments of that day in time order.
+ */
+public class DoctorDayReport {
+
+    private final Long doctorId;
+    private final String doctorName;
+    private final List<AppointmentDTO> appointments = new ArrayList<>();
+
+    public DoctorDayReport(Long doctorId, String doctorName) {
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public List<AppointmentDTO> getAppointments() {
+        return appointments;
+    }
+
+    public int getTotal() {
+        return appointments.size();
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.back_end.DTO;
+
+/**
+ * One entry of the doctor search-as-you-type list.
+ */
+public class DoctorSuggestion {
+
+    private final Long id;
+    private final String name;
+    private final String specialty;
+    private final String email;
+
+    public DoctorSuggestion(Long id, String name, String specialty, String email) {
+        this.id = id;
+        this.name = name;
+        this.specialty = specialty;
+        this.email = email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSpecialty() {
+        return specialty;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.back_end.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller parameter of type
+ * {@link com.project.back_end.DTO.AuthenticatedUser} to be filled with the
+ * caller. The token is taken from the {@code {token}} path variable when the
+ * route has one, otherwise from the {@code Authorization: Bearer} header; a
+ * missing, invalid or wrong-role token answers 401 before the handler runs.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Authenticated {
+
+    /** @return The role the caller must hold: admin, doctor or patient */
+    String value();
+}
@@ -0,0 +1,50 @@
+package com.project.back_end.config;
+
+import java.util.Map;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.project.back_end.DTO.AuthenticatedUser;
+import com.project.back_end.services.RequestPrincipal;
+
+/**
+ * Resolves {@link Authenticated} parameters through the request's
+ * {@link RequestPrincipal}, so the handler and the services it calls see the
+ * same user without looking them up again.
+ */
+public class AuthenticatedUserResolver implements HandlerMethodArgumentResolver {
+
+    private final RequestPrincipal requestPrincipal;
+
+    public AuthenticatedUserResolver(RequestPrincipal requestPrincipal) {
+        this.requestPrincipal = requestPrincipal;
+    }
+
+    @Override
+    public boolean supportsParameter(@NonNull MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(Authenticated.class)
+                && AuthenticatedUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(@NonNull MethodParameter parameter, ModelAndViewContainer mavContainer,
+            @NonNull NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        String role = parameter.getParameterAnnotation(Authenticated.class).value();
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) webRequest.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        String token = pathVariables == null ? null : pathVariables.get("token");
+        AuthenticatedUser user = requestPrincipal.authenticate(token, role);
+        if (user == null) {
+            throw new InvalidTokenException(role);
+        }
+        return user;
+    }
+}
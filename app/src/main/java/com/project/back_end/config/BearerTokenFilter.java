@@ -0,0 +1,58 @@
+package com.project.back_end.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.project.back_end.services.RequestPrincipal;
+import com.project.back_end.services.TokenService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Verifies an {@code Authorization: Bearer} token once, before any handler
+ * runs, and hands it to the request's {@link RequestPrincipal}. Tokens that
+ * name their role are resolved to the user here as well. A bad token is
+ * answered with 401; requests without the header pass through and keep
+ * using the token in their path.
+ */
+@Component
+public class BearerTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+    private final RequestPrincipal requestPrincipal;
+
+    public BearerTokenFilter(TokenService tokenService, RequestPrincipal requestPrincipal) {
+        this.tokenService = tokenService;
+        this.requestPrincipal = requestPrincipal;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain chain) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            String token = header.substring(BEARER.length()).trim();
+            String role = tokenService.extractRole(token);
+            if (tokenService.extractEmail(token) == null
+                    || (role != null && requestPrincipal.authenticate(token, role) == null)) {
+                response.setStatus(HttpStatus.UNAUTHORIZED.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"error\":\"Invalid or expired token\"}");
+                return;
+            }
+            requestPrincipal.setHeaderToken(token);
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,54 @@
+package com.project.back_end.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dedicated, bounded thread pools. Each kind of background work gets its own,
+ * so long-running work of one kind cannot hold the threads another kind waits
+ * for.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Runs the MongoDB half of a prescription save next to the appointment
+     * status change. When every thread is busy and the queue is full, the
+     * request thread writes the prescription itself, which is the serial save
+     * this pool speeds up.
+     */
+    @Bean(name = "prescriptionWriteExecutor")
+    public ThreadPoolTaskExecutor prescriptionWriteExecutor(
+            @Value("${prescription.write-executor.threads:8}") int threads,
+            @Value("${prescription.write-executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("prescription-write-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Runs Spring MVC async work, which today is the appointment export: each
+     * export streams on one of these threads for as long as its range takes.
+     * There is no queue, so an export never waits behind a long one; when
+     * every thread is busy, the request thread streams it instead.
+     */
+    @Bean(name = "exportExecutor")
+    public ThreadPoolTaskExecutor exportExecutor(@Value("${export.executor.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("export-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
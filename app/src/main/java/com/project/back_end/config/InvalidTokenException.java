@@ -0,0 +1,12 @@
+package com.project.back_end.config;
+
+/**
+ * Thrown while resolving an {@link Authenticated} parameter when the request
+ * carries no usable token for the required role.
+ */
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String role) {
+        super("No valid " + role + " token");
+    }
+}
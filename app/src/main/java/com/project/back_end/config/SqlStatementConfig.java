@@ -0,0 +1,59 @@
+package com.project.back_end.config;
+
+import java.io.IOException;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-request SQL statement counting for the dev and test profiles. Every
+ * request's count is recorded in the {@code http.server.sql.statements}
+ * summary (tagged by method and URI template) and returned to the client in
+ * the {@value SqlStatementHeaderAdvice#HEADER} header, so N+1 regressions show
+ * up in the browser's network tab and can be asserted on in tests.
+ */
+@Configuration
+@Profile({"dev", "test"})
+public class SqlStatementConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    public OncePerRequestFilter sqlStatementFilter(MeterRegistry meterRegistry) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                    @NonNull FilterChain chain) throws ServletException, IOException {
+                SqlStatementCounter.start();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    DistributionSummary.builder("http.server.sql.statements")
+                            .description("SQL statements issued while handling one request")
+                            .tag("method", request.getMethod())
+                            .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                            .register(meterRegistry)
+                            .record(SqlStatementCounter.current());
+                    SqlStatementCounter.stop();
+                }
+            }
+        };
+    }
+}
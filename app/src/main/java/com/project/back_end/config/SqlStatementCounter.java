@@ -0,0 +1,39 @@
+package com.project.back_end.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * {@link #start()} and {@link #stop()}. Registered as the session factory's
+ * statement inspector by {@link SqlStatementConfig}; statements issued on
+ * threads that never called {@link #start()} are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /** Starts counting from zero on the current thread. */
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /** @return Statements counted since {@link #start()}, or -1 if not counting */
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? -1 : count[0];
+    }
+
+    /** Stops counting on the current thread. */
+    public static void stop() {
+        COUNT.remove();
+    }
+}
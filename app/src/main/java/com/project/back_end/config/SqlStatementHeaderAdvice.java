@@ -0,0 +1,40 @@
+package com.project.back_end.config;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the statement count to REST responses. Done here rather than in the
+ * filter because the body, and with it the headers, is written before the
+ * filter chain returns.
+ */
+@RestControllerAdvice
+@Profile({"dev", "test"})
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType, @NonNull MediaType contentType,
+            @NonNull Class<? extends HttpMessageConverter<?>> converterType, @NonNull ServerHttpRequest request,
+            @NonNull ServerHttpResponse response) {
+        int count = SqlStatementCounter.current();
+        if (count >= 0) {
+            response.getHeaders().set(HEADER, Integer.toString(count));
+        }
+        return body;
+    }
+}
@@ -1,15 +1,42 @@
 package com.project.back_end.config;
 
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull; 
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.project.back_end.services.RequestPrincipal;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final RequestPrincipal requestPrincipal;
+    private final ThreadPoolTaskExecutor exportExecutor;
+
+    public WebConfig(RequestPrincipal requestPrincipal, @Qualifier("exportExecutor") ThreadPoolTaskExecutor exportExecutor) {
+        this.requestPrincipal = requestPrincipal;
+        this.exportExecutor = exportExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(@NonNull AsyncSupportConfigurer configurer) {
+        // streaming exports run here, not on a pool shared with other background work
+        configurer.setTaskExecutor(exportExecutor);
+    }
+
+    @Override
+    public void addArgumentResolvers(@NonNull List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new AuthenticatedUserResolver(requestPrincipal));
+    }
+
     @Override
     public void addCorsMappings(@NonNull CorsRegistry registry) {
         // Allow CORS for all endpoints
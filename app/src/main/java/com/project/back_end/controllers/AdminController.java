@@ -1,28 +1,44 @@
 package com.project.back_end.controllers;
 
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.project.back_end.models.Admin;
+import com.project.back_end.services.ExportService;
+import com.project.back_end.services.ReportService;
 import com.project.back_end.services.Service;
 
 @RestController
 @RequestMapping("${api.path}" + "admin")
 public class AdminController {
 
+    private static final int MAX_TOP_DOCTORS = 100;
+
     private final Service service;
+    private final ReportService reportService;
+    private final ExportService exportService;
 
     @Autowired
-    public AdminController(Service service) {
+    public AdminController(Service service, ReportService reportService, ExportService exportService) {
         this.service = service;
+        this.reportService = reportService;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -43,4 +59,86 @@ public class AdminController {
         return "redirect:http://localhost:8080/"; 
         
     }
-}
\ No newline at end of file
+
+    /**
+     * Appointments of one day grouped by doctor; replaces the
+     * GetDailyAppointmentReportByDoctor stored procedure.
+     */
+    @GetMapping("/reports/daily/{date}/{token}")
+    public ResponseEntity<Map<String, Object>> getDailyReport(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date, @PathVariable String token)
+    {
+        Map<String, Object> map = new HashMap<>();
+        ResponseEntity<Map<String, String>> tempMap = service.validateToken(token, "admin");
+        if (!tempMap.getBody().isEmpty()) {
+            map.putAll(tempMap.getBody());
+            return new ResponseEntity<>(map, tempMap.getStatusCode());
+        }
+        return reportService.getDailyReport(date);
+    }
+
+    /**
+     * Doctors with the most appointments in a year, or in one month of it when
+     * {@code month} is given; replaces the GetDoctorWithMostPatientsBy* procedures.
+     */
+    @GetMapping("/reports/top-doctors/{year}/{token}")
+    public ResponseEntity<Map<String, Object>> getTopDoctors(@PathVariable int year, @PathVariable String token,
+            @RequestParam(required = false) Integer month, @RequestParam(defaultValue = "5") int limit)
+    {
+        Map<String, Object> map = new HashMap<>();
+        ResponseEntity<Map<String, String>> tempMap = service.validateToken(token, "admin");
+        if (!tempMap.getBody().isEmpty()) {
+            map.putAll(tempMap.getBody());
+            return new ResponseEntity<>(map, tempMap.getStatusCode());
+        }
+        if ((month != null && (month < 1 || month > 12)) || limit < 1 || limit > MAX_TOP_DOCTORS) {
+            map.put("message", "month must be 1-12 and limit between 1 and " + MAX_TOP_DOCTORS);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        return reportService.getTopDoctors(year, month, limit);
+    }
+
+    @PostMapping("/reports/top-doctors/rebuild/{token}")
+    public ResponseEntity<Map<String, String>> rebuildTopDoctors(@PathVariable String token)
+    {
+        ResponseEntity<Map<String, String>> tempMap = service.validateToken(token, "admin");
+        if (!tempMap.getBody().isEmpty()) {
+            return tempMap;
+        }
+        return reportService.rebuildDoctorMonthlyCounts();
+    }
+
+    /**
+     * Streams every appointment starting in [from, to) as NDJSON or CSV, for
+     * billing. Rows go straight from the database cursor to the response.
+     */
+    @GetMapping("/export/appointments/{token}")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(@PathVariable String token,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format)
+    {
+        ResponseEntity<Map<String, String>> tempMap = service.validateToken(token, "admin");
+        if (!tempMap.getBody().isEmpty()) {
+            return ResponseEntity.status(tempMap.getStatusCode()).contentType(MediaType.APPLICATION_JSON)
+                    .body(exportService.message(tempMap.getBody()));
+        }
+        ExportService.Format exportFormat;
+        try {
+            exportFormat = ExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            exportFormat = null;
+        }
+        if (exportFormat == null || !from.isBefore(to)) {
+            Map<String, String> map = new HashMap<>();
+            map.put("message", "format must be ndjson or csv and from must be before to");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON)
+                    .body(exportService.message(map));
+        }
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"appointments-" + from + "-" + to + "." + exportFormat.getExtension() + "\"")
+                .body(exportService.exportAppointments(from, to, exportFormat));
+    }
+}
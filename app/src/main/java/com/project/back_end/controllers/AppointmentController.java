@@ -7,6 +7,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 
+import com.project.back_end.DTO.AppointmentCursor;
+import com.project.back_end.DTO.AppointmentSeries;
+import com.project.back_end.DTO.AuthenticatedUser;
+import com.project.back_end.config.Authenticated;
 import com.project.back_end.models.Appointment;
 import com.project.back_end.services.AppointmentService;
 import com.project.back_end.services.Service;
@@ -15,12 +19,18 @@ import jakarta.validation.Valid;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/appointments")
 public class AppointmentController {
 
+    // a year of weekly visits
+    private static final int MAX_SERIES_OCCURRENCES = 52;
+    // every occurrence of a series must fall within this many days from today
+    private static final int MAX_SERIES_HORIZON_DAYS = 366;
+
     private final AppointmentService appointmentService;
     private final Service service;
 
@@ -30,16 +40,20 @@ public class AppointmentController {
         this.service = service;
     }
 
-    @GetMapping("/{date}/{patientName}/{token}")
-    public ResponseEntity<Map <String,Object>> getAppointments(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date, @PathVariable String patientName,@PathVariable String token)
+    @GetMapping({"/{date}/{patientName}/{token}", "/{date}/{patientName}"})
+    public ResponseEntity<Map <String,Object>> getAppointments(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date, @PathVariable String patientName,
+            @Authenticated("doctor") AuthenticatedUser doctor,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size)
     {
         Map<String, Object> map = new HashMap<>();
-        ResponseEntity<Map<String,String>> tempMap= service.validateToken(token, "doctor");
-        if (!tempMap.getBody().isEmpty()) {
-            map.putAll(tempMap.getBody());
-            return new ResponseEntity<>(map, tempMap.getStatusCode());
+        AppointmentCursor page;
+        try {
+            page = AppointmentCursor.of(cursor, size);
+        } catch (IllegalArgumentException e) {
+            map.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
         }
-        map=appointmentService.getAppointment(patientName, date, token);
+        map=appointmentService.getAppointment(patientName, date, doctor, page);
         return ResponseEntity.status(HttpStatus.OK).body(map);
     }
     
@@ -62,6 +76,10 @@ public class AppointmentController {
                 return ResponseEntity.status(HttpStatus.CREATED).body(response); // 201 Created
 
             }
+            if (res == -1) {
+                response.put("message", "Appointment already booked for given time");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response); // 409 Conflict
+            }
             response.put("message", "Internal Server Error");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response); // 409 Conflict
 
@@ -75,6 +93,47 @@ public class AppointmentController {
 
     }
 
+    /**
+     * Books a recurring series or a list of times with one doctor for the
+     * calling patient. Free slots are booked even when others
+     * conflict; the response reports each occurrence. A series has at most
+     * 52 occurrences, all within 366 days from today.
+     */
+    @PostMapping({"/series/{token}", "/series"})
+    public ResponseEntity<Map<String, Object>> bookSeries(@Authenticated("patient") AuthenticatedUser patient,
+            @RequestBody @Valid AppointmentSeries series) {
+        Map<String, Object> map = new HashMap<>();
+        int requested = series.requestedCount();
+        if (requested < 1 || requested > MAX_SERIES_OCCURRENCES) {
+            map.put("message", "A series must have between 1 and " + MAX_SERIES_OCCURRENCES + " occurrences");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        if (series.getIntervalDays() != null && series.getIntervalDays() < 1) {
+            map.put("message", "intervalDays must be at least 1");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        Long lastDay = series.lastEpochDay();
+        if (lastDay == null) {
+            map.put("message", "appointmentTimes must not contain null");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        if (lastDay > LocalDate.now().plusDays(MAX_SERIES_HORIZON_DAYS).toEpochDay()) {
+            map.put("message", "A series must end within " + MAX_SERIES_HORIZON_DAYS + " days from today");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+
+        List<Map<String, Object>> occurrences = appointmentService.bookSeries(series, patient);
+        if (occurrences == null) {
+            map.put("message", "Invalid doctor id");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        long booked = occurrences.stream().filter(o -> "booked".equals(o.get("status"))).count();
+        map.put("booked", booked);
+        map.put("conflicts", occurrences.size() - booked);
+        map.put("occurrences", occurrences);
+        return ResponseEntity.status(booked > 0 ? HttpStatus.CREATED : HttpStatus.CONFLICT).body(map);
+    }
+
     @PutMapping("/{token}")
     public ResponseEntity<Map<String, String>> updateAppointment(@PathVariable String token, @RequestBody @Valid Appointment appointment) {
         
@@ -85,14 +144,10 @@ public class AppointmentController {
         return appointmentService.updateAppointment(appointment);   
     }
 
-    @DeleteMapping("/{id}/{token}")
-    public ResponseEntity<Map<String, String>>  cancelAppointment(@PathVariable Long id, @PathVariable String token) {
-
-        ResponseEntity<Map<String, String>> tempMap = service.validateToken(token, "patient");
-        if (!tempMap.getBody().isEmpty()) {
-            return tempMap;
-        }
-        return appointmentService.cancelAppointment(id,token);
+    @DeleteMapping({"/{id}/{token}", "/{id}"})
+    public ResponseEntity<Map<String, String>>  cancelAppointment(@PathVariable Long id,
+            @Authenticated("patient") AuthenticatedUser patient) {
+        return appointmentService.cancelAppointment(id, patient);
     }
 
 }
\ No newline at end of file
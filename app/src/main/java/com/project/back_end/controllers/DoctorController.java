@@ -1,32 +1,50 @@
 package com.project.back_end.controllers;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.project.back_end.DTO.Login;
 import com.project.back_end.models.Doctor;
+import com.project.back_end.services.DoctorImportService;
 import com.project.back_end.services.DoctorService;
 import com.project.back_end.services.Service;
 
 import jakarta.validation.Valid;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("${api.path}"+"doctor")
 public class DoctorController {
 
+    private static final int MAX_AVAILABILITY_DOCTORS = 50;
+    private static final int MAX_AVAILABILITY_DAYS = 31;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "specialty");
+    private static final int MAX_IMPORT_ROWS = 10_000;
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final DoctorService doctorService;
+    private final DoctorImportService doctorImportService;
     private final Service service;
 
     @Autowired
-    public DoctorController(DoctorService doctorService,Service service) {
+    public DoctorController(DoctorService doctorService, DoctorImportService doctorImportService, Service service) {
         this.doctorService = doctorService;
+        this.doctorImportService = doctorImportService;
         this.service = service;
     }
 
@@ -43,6 +61,27 @@ public class DoctorController {
         return ResponseEntity.status(HttpStatus.OK).body(map);
     }
 
+    @GetMapping("/availability/batch/{user}/{from}/{to}/{token}")
+    public ResponseEntity<Map<String,Object>> getDoctorsAvailability(@PathVariable String user, @RequestParam List<Long> doctorIds,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to, @PathVariable String token) {
+
+        Map<String, Object> map = new HashMap<>();
+        ResponseEntity<Map<String,String>> tempMap= service.validateToken(token, user);
+        if (!tempMap.getBody().isEmpty()) {
+            map.putAll(tempMap.getBody());
+            return new ResponseEntity<>(map, tempMap.getStatusCode());
+        }
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_AVAILABILITY_DAYS
+                || doctorIds.isEmpty() || doctorIds.size() > MAX_AVAILABILITY_DOCTORS) {
+            map.put("message", "Request at most " + MAX_AVAILABILITY_DOCTORS + " doctors and "
+                    + MAX_AVAILABILITY_DAYS + " days at a time");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        map.put("availability", doctorService.getDoctorsAvailability(doctorIds, from, to));
+        return ResponseEntity.status(HttpStatus.OK).body(map);
+    }
+
     @GetMapping
     public ResponseEntity<Map<String,Object>> getDoctor()
     {
@@ -70,11 +109,55 @@ public class DoctorController {
             response.put("message", "Doctor already exists");
             return ResponseEntity.status(HttpStatus.CONFLICT).body(response); // 409 Conflict
         }
+        else if(res==-2)
+        {
+            response.put("message", "Available times must start and end on the hour");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
     
         response.put("message", "Some internal error occurred");
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response); // 409 Conflict      
     }
 
+    /**
+     * Adds many doctors at once from a JSON array. Rows are validated one by
+     * one; the response counts the imported rows and lists each rejected row
+     * with its reason.
+     */
+    @PostMapping(value = "/import/{token}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> importDoctors(@RequestBody List<Doctor> doctors, @PathVariable String token) {
+        Map<String, Object> map = new HashMap<>();
+        ResponseEntity<Map<String,String>> tempMap= service.validateToken(token, "admin");
+        if (!tempMap.getBody().isEmpty()) {
+            map.putAll(tempMap.getBody());
+            return new ResponseEntity<>(map, tempMap.getStatusCode());
+        }
+        if (doctors.size() > MAX_IMPORT_ROWS) {
+            map.put("message", "Import at most " + MAX_IMPORT_ROWS + " doctors at a time");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        return doctorImportService.importDoctors(doctors);
+    }
+
+    /**
+     * CSV variant of the bulk import, with the header
+     * name,specialty,email,password,phone,availableTimes.
+     */
+    @PostMapping(value = "/import/{token}", consumes = "text/csv")
+    public ResponseEntity<Map<String, Object>> importDoctorsCsv(@RequestBody String csv, @PathVariable String token) {
+        Map<String, Object> map = new HashMap<>();
+        ResponseEntity<Map<String,String>> tempMap= service.validateToken(token, "admin");
+        if (!tempMap.getBody().isEmpty()) {
+            map.putAll(tempMap.getBody());
+            return new ResponseEntity<>(map, tempMap.getStatusCode());
+        }
+        if (csv.lines().count() > MAX_IMPORT_ROWS + 1) {
+            map.put("message", "Import at most " + MAX_IMPORT_ROWS + " doctors at a time");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        return doctorImportService.importCsv(csv);
+    }
+
     @PostMapping("/login")
     public ResponseEntity<Map<String, String>> doctorLogin(@RequestBody @Valid Login login)
     {
@@ -100,6 +183,11 @@ public class DoctorController {
             response.put("message", "Doctor not found");
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response); // 404 Not Found
         }
+        else if(res==-2)
+        {
+            response.put("message", "Available times must start and end on the hour");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
     
         response.put("message", "Some internal error occurred");
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response); // 409 Conflict      
@@ -129,12 +217,61 @@ public class DoctorController {
     }
 
 
+    /**
+     * Search-as-you-type: doctors matching a partial name, specialty or email,
+     * best match first. Small typos still match.
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<Map<String, Object>> typeahead(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit)
+    {
+        Map<String, Object> map = new HashMap<>();
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            map.put("message", "limit must be between 1 and " + MAX_SUGGESTIONS);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        map.put("doctors", doctorService.suggestDoctors(q, limit));
+        return ResponseEntity.status(HttpStatus.OK).body(map);
+    }
+
     @GetMapping("/filter/{name}/{time}/{speciality}")
-    public ResponseEntity<Map<String, Object>> filter(@PathVariable String name, @PathVariable String time, @PathVariable String speciality)
+    public ResponseEntity<Map<String, Object>> filter(@PathVariable String name, @PathVariable String time, @PathVariable String speciality,
+            @RequestParam(required = false) Integer page, @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort)
     {
         Map<String,Object> map=new HashMap<>();
-        map=service.filterDoctor(name, speciality, time);
+        Pageable pageable = Pageable.unpaged();
+        if (page != null || size != null) {
+            int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+            if ((page != null && page < 0) || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                map.put("message", "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+            }
+            Sort order = parseSort(sort);
+            if (order == null) {
+                map.put("message", "sort must be one of " + SORTABLE_FIELDS + ", optionally followed by ,asc or ,desc");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+            }
+            pageable = PageRequest.of(page == null ? 0 : page, pageSize, order);
+        }
+        map=service.filterDoctor(name, speciality, time, pageable);
         return ResponseEntity.status(HttpStatus.OK).body(map);
     }
 
+    // "field" or "field,asc|desc"; null when the field cannot be sorted on
+    private Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by("name").and(Sort.by("id"));
+        }
+        String[] parts = sort.split(",");
+        if (!SORTABLE_FIELDS.contains(parts[0]) || parts.length > 2) {
+            return null;
+        }
+        Sort.Direction direction = parts.length == 2 && parts[1].equalsIgnoreCase("desc")
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        // id as tie-breaker keeps pages stable
+        return Sort.by(direction, parts[0]).and(Sort.by("id"));
+    }
+
 }
@@ -6,7 +6,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.project.back_end.DTO.AppointmentCursor;
+import com.project.back_end.DTO.AuthenticatedUser;
 import com.project.back_end.DTO.Login;
+import com.project.back_end.config.Authenticated;
 import com.project.back_end.models.Patient;
 import com.project.back_end.services.PatientService;
 import com.project.back_end.services.Service;
@@ -29,16 +32,10 @@ public class PatientController {
         this.service=service;
     }
 
-    @GetMapping("/{token}")
-    public ResponseEntity<Map<String, Object>> getPatient(@PathVariable String token)
+    @GetMapping({"/{token}", ""})
+    public ResponseEntity<Map<String, Object>> getPatient(@Authenticated("patient") AuthenticatedUser patient)
     {
-        Map<String, Object> map = new HashMap<>();
-        ResponseEntity<Map<String,String>> tempMap= service.validateToken(token, "patient");
-        if (!tempMap.getBody().isEmpty()) {
-            map.putAll(tempMap.getBody());
-            return new ResponseEntity<>(map, tempMap.getStatusCode());
-        }
-        return patientService.getPatientDetails(token);
+        return patientService.getPatientDetails(patient);
     }
 
     @PostMapping()
@@ -69,7 +66,8 @@ public class PatientController {
 
 
     @GetMapping("/{id}/{user}/{token}")
-    public ResponseEntity<Map<String,Object>> getPatientAppointment(@PathVariable Long id,@PathVariable String token, @PathVariable String user)
+    public ResponseEntity<Map<String,Object>> getPatientAppointment(@PathVariable Long id,@PathVariable String token, @PathVariable String user,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size)
     {
         Map<String, Object> map = new HashMap<>();
         ResponseEntity<Map<String,String>> tempMap= service.validateToken(token, user);
@@ -77,20 +75,31 @@ public class PatientController {
             map.putAll(tempMap.getBody());
             return new ResponseEntity<>(map, tempMap.getStatusCode());
         }
+        AppointmentCursor page;
+        try {
+            page = AppointmentCursor.of(cursor, size);
+        } catch (IllegalArgumentException e) {
+            map.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
 
-        return patientService.getPatientAppointment(id,token);
+        return patientService.getPatientAppointment(id,page);
     }
 
-    @GetMapping("/filter/{condition}/{name}/{token}")
-    public ResponseEntity<Map<String,Object>> filterPatientAppointment(@PathVariable String condition, @PathVariable String name, @PathVariable String token)
+    @GetMapping({"/filter/{condition}/{name}/{token}", "/filter/{condition}/{name}"})
+    public ResponseEntity<Map<String,Object>> filterPatientAppointment(@PathVariable String condition, @PathVariable String name,
+            @Authenticated("patient") AuthenticatedUser patient,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size)
     {
         Map<String, Object> map = new HashMap<>();
-        ResponseEntity<Map<String,String>> tempMap= service.validateToken(token, "patient");
-        if (!tempMap.getBody().isEmpty()) {
-            map.putAll(tempMap.getBody());
-            return new ResponseEntity<>(map, tempMap.getStatusCode());
+        AppointmentCursor page;
+        try {
+            page = AppointmentCursor.of(cursor, size);
+        } catch (IllegalArgumentException e) {
+            map.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
         }
-        return service.filterPatient(condition,name,token);
+        return service.filterPatient(condition,name,patient,page);
     }
 
 
@@ -1,19 +1,21 @@
 package com.project.back_end.controllers;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.project.back_end.models.Prescription;
-import com.project.back_end.services.AppointmentService;
 import com.project.back_end.services.PrescriptionService;
 import com.project.back_end.services.Service;
 
@@ -23,15 +25,15 @@ import jakarta.validation.Valid;
 @RequestMapping("${api.path}" + "prescription")
 public class PrescriptionController {
 
+    private static final int MAX_BATCH_APPOINTMENTS = 200;
+
     private final PrescriptionService prescriptionService;
     private final Service service;
-    private final AppointmentService appointmentService;
 
     @Autowired
-    public PrescriptionController(PrescriptionService prescriptionService, Service service,AppointmentService appointmentService) {
+    public PrescriptionController(PrescriptionService prescriptionService, Service service) {
         this.prescriptionService = prescriptionService;
         this.service = service;
-        this.appointmentService=appointmentService;
     }
 
     @PostMapping("/{token}")
@@ -40,7 +42,6 @@ public class PrescriptionController {
         if (!tempMap.getBody().isEmpty()) {
             return tempMap;
         }
-        appointmentService.changeStatus(prescription.getAppointmentId());
         return prescriptionService.savePrescription(prescription);
     }
 
@@ -55,4 +56,20 @@ public class PrescriptionController {
         }
         return prescriptionService.getPrescription(appointmentId);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/batch/{token}")
+    public ResponseEntity<Map<String, Object>> getPrescriptions(@RequestParam List<Long> appointmentIds, @PathVariable String token)
+    {
+        Map<String, Object> map = new HashMap<>();
+        ResponseEntity<Map<String,String>> tempMap= service.validateToken(token, "doctor");
+        if (!tempMap.getBody().isEmpty()) {
+            map.putAll(tempMap.getBody());
+            return new ResponseEntity<>(map, tempMap.getStatusCode());
+        }
+        if (appointmentIds.isEmpty() || appointmentIds.size() > MAX_BATCH_APPOINTMENTS) {
+            map.put("message", "Request between 1 and " + MAX_BATCH_APPOINTMENTS + " appointments at a time");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        return prescriptionService.getPrescriptions(appointmentIds);
+    }
+}
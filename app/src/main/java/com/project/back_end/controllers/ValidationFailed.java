@@ -7,6 +7,8 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.validation.FieldError;
 
+import com.project.back_end.config.InvalidTokenException;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,4 +27,11 @@ public class ValidationFailed {
 
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
     }
+
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidToken(InvalidTokenException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Invalid or expired token");
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
 }
\ No newline at end of file
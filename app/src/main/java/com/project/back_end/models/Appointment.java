@@ -5,30 +5,48 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
+// A doctor can hold only one appointment per start time; the database rejects double bookings
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_appointment_doctor_time", columnNames = { "doctor_id", "appointment_time" }),
+        indexes = {
+                // serves the keyset-paged patient history, ordered by (appointment_time, id)
+                @Index(name = "idx_appointment_patient_time", columnList = "patient_id, appointment_time, id"),
+                // serves the all-doctors daily report range scan
+                @Index(name = "idx_appointment_time_doctor", columnList = "appointment_time, doctor_id") })
 public class Appointment {
 
+    // pooled: one appointment_seq call reserves 50 ids, so the inserts of a booking series can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointment_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
+    @JoinColumn(name = "doctor_id")
     @NotNull(message = "Doctor must be assigned to the appointment")
     private Doctor doctor;
 
     @ManyToOne
+    @JoinColumn(name = "patient_id")
     @NotNull(message = "Patient must be assigned to the appointment")
     private Patient patient;
 
     @Future(message = "Appointment time must be in the future")
+    @Column(name = "appointment_time")
     private LocalDateTime appointmentTime;
 
     @NotNull(message = "Status cannot be null")
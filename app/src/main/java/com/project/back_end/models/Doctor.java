@@ -1,12 +1,16 @@
 package com.project.back_end.models;
 
 import java.util.List;
+
+import org.hibernate.annotations.BatchSize;
+
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -20,8 +24,10 @@ import jakarta.validation.constraints.Size;
 @Entity
 public class Doctor {
 
+    // pooled: one doctor_seq call reserves 50 ids, so Hibernate can batch doctor inserts (IDENTITY cannot)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctor_seq")
+    @SequenceGenerator(name = "doctor_seq", sequenceName = "doctor_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Doctor's name cannot be null")
@@ -46,7 +52,8 @@ public class Doctor {
     private String phone;
 
     @ElementCollection
-    private List<String> availableTimes;
+    @BatchSize(size = 50)
+    private List<TimeSlot> availableTimes;
 
     /**
      * Default constructor required by JPA.
@@ -63,7 +70,7 @@ public class Doctor {
      * @param phone 10-digit contact number
      * @param availableTimes List of scheduled time slots
      */
-    public Doctor(Long id, String name, String specialty, String email, String password, String phone, List<String> availableTimes) {
+    public Doctor(Long id, String name, String specialty, String email, String password, String phone, List<TimeSlot> availableTimes) {
         this.id = id;
         this.name = name;
         this.specialty = specialty;
@@ -100,6 +107,6 @@ public class Doctor {
     public void setPhone(String phone) { this.phone = phone; }
 
     /** @return List of available time slots for appointments */
-    public List<String> getAvailableTimes() { return availableTimes; }
-    public void setAvailableTimes(List<String> availableTimes) { this.availableTimes = availableTimes; }
+    public List<TimeSlot> getAvailableTimes() { return availableTimes; }
+    public void setAvailableTimes(List<TimeSlot> availableTimes) { this.availableTimes = availableTimes; }
 }
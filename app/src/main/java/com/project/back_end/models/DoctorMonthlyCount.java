@@ -0,0 +1,91 @@
+package com.project.back_end.models;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Number of appointments a doctor holds in one month, kept up to date by the
+ * booking, update and cancel paths. The row with {@link #WHOLE_YEAR} as its
+ * month holds the doctor's total for the year.
+ */
+@Entity
+@Table(name = "doctor_monthly_count",
+        // top-N for one period reads the tail of this index
+        indexes = @Index(name = "idx_doctor_monthly_count_rank", columnList = "period_year, period_month, appointments"))
+@IdClass(DoctorMonthlyCount.Key.class)
+public class DoctorMonthlyCount {
+
+    public static final int WHOLE_YEAR = 0;
+
+    @Id
+    @Column(name = "doctor_id")
+    private Long doctorId;
+
+    @Id
+    @Column(name = "period_year")
+    private int periodYear;
+
+    @Id
+    @Column(name = "period_month")
+    private int periodMonth;
+
+    private long appointments;
+
+    public DoctorMonthlyCount() {}
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public int getPeriodYear() {
+        return periodYear;
+    }
+
+    public int getPeriodMonth() {
+        return periodMonth;
+    }
+
+    public long getAppointments() {
+        return appointments;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long doctorId;
+        private int periodYear;
+        private int periodMonth;
+
+        public Key() {}
+
+        public Key(Long doctorId, int periodYear, int periodMonth) {
+            this.doctorId = doctorId;
+            this.periodYear = periodYear;
+            this.periodMonth = periodMonth;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return periodYear == other.periodYear && periodMonth == other.periodMonth
+                    && Objects.equals(doctorId, other.doctorId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(doctorId, periodYear, periodMonth);
+        }
+    }
+}
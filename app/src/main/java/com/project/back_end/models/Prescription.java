@@ -1,5 +1,6 @@
 package com.project.back_end.models;
 
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.persistence.Id;
@@ -17,6 +18,7 @@ public class Prescription {
 	private String patientName;
 
 	@NotNull(message = "Appointment ID is required")
+	@Indexed(unique = true)
 	private Long appointmentId;
 
 	@NotNull(message = "Medication is required")
@@ -0,0 +1,110 @@
+package com.project.back_end.models;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * A doctor's bookable time range within a day, stored as minutes since midnight.
+ * Slots are parsed once from their "HH:mm-HH:mm" form when a doctor is written
+ * or read from JSON, and are serialized back to the same form.
+ */
+@Embeddable
+public class TimeSlot implements Comparable<TimeSlot> {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int NOON = 12 * 60;
+
+    @Column(name = "start_minute")
+    private int startMinute;
+
+    @Column(name = "end_minute")
+    private int endMinute;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    protected TimeSlot() {}
+
+    public TimeSlot(int startMinute, int endMinute) {
+        if (startMinute < 0 || endMinute > MINUTES_PER_DAY || startMinute >= endMinute) {
+            throw new IllegalArgumentException("Invalid time slot: " + startMinute + "-" + endMinute);
+        }
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+    }
+
+    /**
+     * Parses a slot such as "09:00-10:00".
+     * @throws IllegalArgumentException if the text is not a valid slot
+     */
+    @JsonCreator
+    public static TimeSlot parse(String text) {
+        String[] times = text.split("-");
+        if (times.length != 2) {
+            throw new IllegalArgumentException("Invalid time slot: " + text);
+        }
+        try {
+            int start = LocalTime.parse(times[0].trim()).toSecondOfDay() / 60;
+            int end = LocalTime.parse(times[1].trim()).toSecondOfDay() / 60;
+            return new TimeSlot(start, end);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time slot: " + text, e);
+        }
+    }
+
+    /** @return Minutes since midnight at which the slot starts */
+    public int getStartMinute() { return startMinute; }
+
+    /** @return Minutes since midnight at which the slot ends (exclusive) */
+    public int getEndMinute() { return endMinute; }
+
+    /** @return Whether the slot starts before noon */
+    public boolean isMorning() {
+        return startMinute < NOON;
+    }
+
+    /** @return Whether both ends fall on a multiple of the given granularity in minutes */
+    public boolean isAlignedTo(int granularityMinutes) {
+        return startMinute % granularityMinutes == 0 && endMinute % granularityMinutes == 0;
+    }
+
+    @Override
+    public int compareTo(TimeSlot other) {
+        return startMinute != other.startMinute
+                ? Integer.compare(startMinute, other.startMinute)
+                : Integer.compare(endMinute, other.endMinute);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TimeSlot)) {
+            return false;
+        }
+        TimeSlot other = (TimeSlot) o;
+        return startMinute == other.startMinute && endMinute == other.endMinute;
+    }
+
+    @Override
+    public int hashCode() {
+        return startMinute * MINUTES_PER_DAY + endMinute;
+    }
+
+    @JsonValue
+    @Override
+    public String toString() {
+        return format(startMinute) + "-" + format(endMinute);
+    }
+
+    private static String format(int minute) {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
+}
@@ -2,6 +2,8 @@ package com.project.back_end.mvc;
 
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,6 +13,7 @@ import com.project.back_end.services.Service;
 @Controller
 public class Dashboard {
 
+    private static final Logger logger = LoggerFactory.getLogger(Dashboard.class);
 
     @Autowired
     Service service;
@@ -19,7 +22,7 @@ public class Dashboard {
     public String adminDashboard(@PathVariable String token)
     {
         Map<String, String> map=service.validateToken(token,"admin").getBody();
-        System.out.println("map"+map);
+        logger.debug("Admin dashboard token check: {}", map);
         if(map.isEmpty())
         {
             return "admin/adminDashboard";
@@ -32,7 +35,7 @@ public class Dashboard {
     public String doctorDashboard(@PathVariable String token)
     {
         Map<String, String> map=service.validateToken(token,"doctor").getBody();
-        System.out.println("map"+map);
+        logger.debug("Doctor dashboard token check: {}", map);
         if(map.isEmpty())
         {
             return "doctor/doctorDashboard";
@@ -1,24 +1,56 @@
 package com.project.back_end.repo;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.project.back_end.DTO.AppointmentDTO;
 import com.project.back_end.models.Appointment;
 
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
-    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.doctor d LEFT JOIN FETCH d.availableTimes WHERE a.doctor.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end")
-    List<Appointment> findByDoctorIdAndAppointmentTimeBetween(Long doctorId, LocalDateTime start, LocalDateTime end);
+    // Selects exactly the AppointmentDTO columns in one statement, without loading entities
+    String DTO_SELECT = "SELECT new com.project.back_end.DTO.AppointmentDTO(a.id, d.id, d.name, p.id, p.name, p.email, p.phone, p.address, a.appointmentTime, a.status) "
+            + "FROM Appointment a JOIN a.doctor d JOIN a.patient p ";
+
+    // Keyset condition: rows strictly after (afterTime, afterId) in (appointmentTime, id) order
+    String AFTER = " AND (a.appointmentTime > :afterTime OR (a.appointmentTime = :afterTime AND a.id > :afterId)) ORDER BY a.appointmentTime, a.id";
+
+    @Query(DTO_SELECT + "WHERE d.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end")
+    List<AppointmentDTO> findByDoctorIdAndAppointmentTimeBetween(Long doctorId, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT a.appointmentTime FROM Appointment a WHERE a.doctor.id = :doctorId AND a.appointmentTime >= :start AND a.appointmentTime < :end")
+    List<LocalDateTime> findBookedTimes(Long doctorId, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT a.doctor.id, a.appointmentTime FROM Appointment a WHERE a.doctor.id IN :doctorIds AND a.appointmentTime >= :start AND a.appointmentTime < :end")
+    List<Object[]> findBookedTimesForDoctors(Collection<Long> doctorIds, LocalDateTime start, LocalDateTime end);
+
+    // Half-open day range on idx_appointment_time_doctor, ordered so rows arrive grouped by doctor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT + "WHERE a.appointmentTime >= :start AND a.appointmentTime < :end ORDER BY d.name, d.id, a.appointmentTime")
+    Stream<AppointmentDTO> streamDailyReport(LocalDateTime start, LocalDateTime end);
 
-    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.doctor d LEFT JOIN FETCH d.availableTimes LEFT JOIN FETCH a.patient p WHERE a.doctor.id = :doctorId AND p.name LIKE %:patientName% AND a.appointmentTime BETWEEN :start AND :end")
-    List<Appointment> findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
+    // Export cursor: (appointment_time, doctor_id) is idx_appointment_time_doctor's order, so no sort is needed
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query(DTO_SELECT + "WHERE a.appointmentTime >= :start AND a.appointmentTime < :end ORDER BY a.appointmentTime, a.doctor.id")
+    Stream<AppointmentDTO> streamRange(LocalDateTime start, LocalDateTime end);
+
+    @Query(DTO_SELECT + "WHERE d.id = :doctorId AND p.name LIKE %:patientName% AND a.appointmentTime BETWEEN :start AND :end")
+    List<AppointmentDTO> findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
             Long doctorId, String patientName, LocalDateTime start, LocalDateTime end);
 
     @Modifying
@@ -26,17 +58,30 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Query("DELETE FROM Appointment a WHERE a.doctor.id = :doctorId")
     void deleteAllByDoctorId(Long doctorId);
 
-    List<Appointment> findByPatientId(Long patientId);
+    @Query(DTO_SELECT + "WHERE p.id = :patientId")
+    List<AppointmentDTO> findByPatientId(Long patientId);
+
+    // Keyset pages ordered by (appointmentTime, id)
+
+    @Query(DTO_SELECT + "WHERE p.id = :patientId" + AFTER)
+    List<AppointmentDTO> findPatientPage(Long patientId, LocalDateTime afterTime, long afterId, Pageable limit);
+
+    @Query(DTO_SELECT + "WHERE p.id = :patientId AND a.status = :status" + AFTER)
+    List<AppointmentDTO> findPatientPageByStatus(Long patientId, int status, LocalDateTime afterTime, long afterId, Pageable limit);
+
+    @Query(DTO_SELECT + "WHERE p.id = :patientId AND LOWER(d.name) LIKE LOWER(CONCAT('%', :doctorName, '%'))" + AFTER)
+    List<AppointmentDTO> findPatientPageByDoctorName(Long patientId, String doctorName, LocalDateTime afterTime, long afterId, Pageable limit);
 
-    List<Appointment> findByPatient_IdAndStatusOrderByAppointmentTimeAsc(Long patientId, int status);
+    @Query(DTO_SELECT + "WHERE p.id = :patientId AND a.status = :status AND LOWER(d.name) LIKE LOWER(CONCAT('%', :doctorName, '%'))" + AFTER)
+    List<AppointmentDTO> findPatientPageByDoctorNameAndStatus(Long patientId, String doctorName, int status, LocalDateTime afterTime, long afterId, Pageable limit);
 
-    @Query("SELECT a FROM Appointment a WHERE LOWER(a.doctor.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) AND a.patient.id = :patientId")
-    List<Appointment> filterByDoctorNameAndPatientId(String doctorName, Long patientId);
+    @Query(DTO_SELECT + "WHERE d.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end" + AFTER)
+    List<AppointmentDTO> findDoctorDayPage(Long doctorId, LocalDateTime start, LocalDateTime end, LocalDateTime afterTime, long afterId, Pageable limit);
 
-    @Query("SELECT a FROM Appointment a WHERE LOWER(a.doctor.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) AND a.patient.id = :patientId AND a.status = :status")
-    List<Appointment> filterByDoctorNameAndPatientIdAndStatus(String doctorName, Long patientId, int status);
+    @Query(DTO_SELECT + "WHERE d.id = :doctorId AND p.name LIKE %:patientName% AND a.appointmentTime BETWEEN :start AND :end" + AFTER)
+    List<AppointmentDTO> findDoctorDayPageByPatientName(Long doctorId, String patientName, LocalDateTime start, LocalDateTime end, LocalDateTime afterTime, long afterId, Pageable limit);
 
     @Modifying
-    @Query("UPDATE Appointment a SET a.status = :status WHERE a.id = :id")
-    void updateStatus(int status,long id);
+    @Query("UPDATE Appointment a SET a.status = :to WHERE a.id = :id AND a.status = :from")
+    int transitionStatus(long id, int from, int to);
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.project.back_end.repo;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.project.back_end.DTO.DoctorAppointmentCount;
+import com.project.back_end.models.DoctorMonthlyCount;
+
+@Repository
+public interface DoctorMonthlyCountRepository extends JpaRepository<DoctorMonthlyCount, DoctorMonthlyCount.Key> {
+
+    // Moves the month row and the whole-year row (period_month 0) by delta, creating them on first use
+    @Modifying
+    @Query(value = "INSERT INTO doctor_monthly_count (doctor_id, period_year, period_month, appointments) "
+            + "VALUES (:doctorId, :year, :month, :delta), (:doctorId, :year, 0, :delta) "
+            + "ON DUPLICATE KEY UPDATE appointments = appointments + :delta", nativeQuery = true)
+    int adjust(long doctorId, int year, int month, int delta);
+
+    // The join also drops rows of doctors deleted outside the application, until the next rebuild
+    @Query("SELECT new com.project.back_end.DTO.DoctorAppointmentCount(d.id, d.name, d.specialty, c.appointments) "
+            + "FROM DoctorMonthlyCount c JOIN Doctor d ON d.id = c.doctorId "
+            + "WHERE c.periodYear = :year AND c.periodMonth = :month AND c.appointments > 0 "
+            + "ORDER BY c.appointments DESC, c.doctorId DESC")
+    List<DoctorAppointmentCount> findTop(int year, int month, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM DoctorMonthlyCount c WHERE c.doctorId = :doctorId")
+    int deleteByDoctorId(long doctorId);
+
+    @Modifying
+    @Query(value = "INSERT INTO doctor_monthly_count (doctor_id, period_year, period_month, appointments) "
+            + "SELECT doctor_id, YEAR(appointment_time), MONTH(appointment_time), COUNT(*) FROM appointment "
+            + "GROUP BY doctor_id, YEAR(appointment_time), MONTH(appointment_time)", nativeQuery = true)
+    int insertMonthsFromAppointments();
+
+    @Modifying
+    @Query(value = "INSERT INTO doctor_monthly_count (doctor_id, period_year, period_month, appointments) "
+            + "SELECT doctor_id, YEAR(appointment_time), 0, COUNT(*) FROM appointment "
+            + "GROUP BY doctor_id, YEAR(appointment_time)", nativeQuery = true)
+    int insertYearsFromAppointments();
+}
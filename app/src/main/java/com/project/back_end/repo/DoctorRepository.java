@@ -1,20 +1,20 @@
 package com.project.back_end.repo;
 
 import com.project.back_end.models.Doctor;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+public interface DoctorRepository extends JpaRepository<Doctor, Long>, JpaSpecificationExecutor<Doctor> {
    Doctor findByEmail(String email);
 
-   @Query("SELECT d FROM Doctor d WHERE d.name LIKE CONCAT('%', :name, '%')")
-   List<Doctor> findByNameLike(String name);
+   @Query("SELECT d.email FROM Doctor d WHERE d.email IN :emails")
+   List<String> findExistingEmails(Collection<String> emails);
 
-   @Query("SELECT d FROM Doctor d WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%')) AND LOWER(d.specialty) = LOWER(:specialty)")
-   List<Doctor> findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(String name, String specialty);
-
-   List<Doctor> findBySpecialtyIgnoreCase(String specialty);
+   @Query("SELECT DISTINCT d FROM Doctor d LEFT JOIN FETCH d.availableTimes")
+   List<Doctor> findAllWithAvailableTimes();
 }
\ No newline at end of file
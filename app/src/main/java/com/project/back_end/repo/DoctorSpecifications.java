@@ -0,0 +1,66 @@
+package com.project.back_end.repo;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.TimeSlot;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Composable query conditions for {@link Doctor} searches.
+ * Every factory returns null for a missing criterion, which
+ * {@link Specification#where(Specification)} and {@code and} simply skip.
+ */
+public final class DoctorSpecifications {
+
+    private static final int NOON = 12 * 60;
+
+    private DoctorSpecifications() {}
+
+    /**
+     * Combines the optional name, specialty and AM/PM criteria into one query.
+     */
+    public static Specification<Doctor> matching(String name, String specialty, String amOrPm) {
+        return Specification.where(nameContains(name))
+                .and(specialtyIs(specialty))
+                .and(availableIn(amOrPm));
+    }
+
+    public static Specification<Doctor> nameContains(String name) {
+        if (name == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%");
+    }
+
+    public static Specification<Doctor> specialtyIs(String specialty) {
+        if (specialty == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("specialty")), specialty.toLowerCase());
+    }
+
+    /**
+     * Keeps doctors with at least one slot starting before noon ("am") or at/after
+     * noon (anything else), as an EXISTS subquery so rows are not multiplied.
+     */
+    public static Specification<Doctor> availableIn(String amOrPm) {
+        if (amOrPm == null) {
+            return null;
+        }
+        boolean morning = amOrPm.equalsIgnoreCase("am");
+        return (root, query, cb) -> {
+            Subquery<Integer> slots = query.subquery(Integer.class);
+            Root<Doctor> correlated = slots.correlate(root);
+            Join<Doctor, TimeSlot> slot = correlated.join("availableTimes");
+            slots.select(cb.literal(1));
+            slots.where(morning
+                    ? cb.lessThan(slot.get("startMinute"), NOON)
+                    : cb.greaterThanOrEqualTo(slot.get("startMinute"), NOON));
+            return cb.exists(slots);
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.project.back_end.repo;
 
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
@@ -10,4 +11,7 @@ import com.project.back_end.models.Prescription;
 public interface PrescriptionRepository extends MongoRepository<Prescription, String> {
     
     List<Prescription> findByAppointmentId(Long appointmentId);
+
+    // One $in query for many appointments
+    List<Prescription> findByAppointmentIdIn(Collection<Long> appointmentIds);
 }
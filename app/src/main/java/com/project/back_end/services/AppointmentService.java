@@ -3,24 +3,36 @@ package com.project.back_end.services;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.project.back_end.DTO.AppointmentCursor;
 import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.DTO.AppointmentSeries;
+import com.project.back_end.DTO.AuthenticatedUser;
 import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
 import com.project.back_end.models.Patient;
 import com.project.back_end.repo.AppointmentRepository;
-import com.project.back_end.repo.DoctorRepository;
-import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.repo.DoctorMonthlyCountRepository;
 
 import jakarta.transaction.Transactional;
 
@@ -35,36 +47,159 @@ public class AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
     private final com.project.back_end.services.Service service;
-    private final TokenService tokenService;
-    private final PatientRepository patientRepository;
-    private final DoctorRepository doctorRepository;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final PatientAppointmentIndex patientAppointmentIndex;
+    private final ReportService reportService;
+    private final DoctorMonthlyCountRepository doctorMonthlyCountRepository;
+    private final TransactionTemplate transactionTemplate;
 
     public AppointmentService(AppointmentRepository appointmentRepository,
-            com.project.back_end.services.Service service, TokenService tokenService,
-            PatientRepository patientRepository, DoctorRepository doctorRepository) {
+            com.project.back_end.services.Service service, SlotOccupancyIndex slotOccupancyIndex,
+            PatientAppointmentIndex patientAppointmentIndex, ReportService reportService,
+            DoctorMonthlyCountRepository doctorMonthlyCountRepository, TransactionTemplate transactionTemplate) {
         this.appointmentRepository = appointmentRepository;
         this.service = service;
-        this.tokenService = tokenService;
-        this.patientRepository = patientRepository;
-        this.doctorRepository = doctorRepository;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.patientAppointmentIndex = patientAppointmentIndex;
+        this.reportService = reportService;
+        this.doctorMonthlyCountRepository = doctorMonthlyCountRepository;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
      * Persists a new appointment in the database.
+     * The (doctor, start time) unique key makes the insert itself the reservation,
+     * so concurrent requests for the same slot cannot both succeed. The doctor's
+     * monthly count is bumped in the same transaction.
      * @param appointment The appointment entity to save.
-     * @return 1 if successful, 0 otherwise.
+     * @return 1 if successful, -1 if the slot was taken meanwhile, 0 otherwise.
      */
     public int bookAppointment(Appointment appointment) {
         try {
-            appointmentRepository.save(appointment);
+            transactionTemplate.executeWithoutResult(status -> {
+                appointmentRepository.saveAndFlush(appointment);
+                count(appointment.getDoctor().getId(), appointment.getAppointmentTime(), 1);
+            });
+            slotOccupancyIndex.occupy(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+            patientAppointmentIndex.patientChanged(appointment.getPatient().getId());
             logger.info("Successfully booked appointment for Patient ID: {}", appointment.getPatient().getId());
             return 1;
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Slot conflict for Doctor ID {} at {}", appointment.getDoctor().getId(), appointment.getAppointmentTime());
+            // the index showed the slot free, e.g. because another instance booked it; reload the day
+            slotOccupancyIndex.release(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+            return -1;
         } catch (Exception e) {
             logger.error("Failed to book appointment: {}", e.getMessage());
             return 0;
         }
     }
 
+    /**
+     * Books several appointments with one doctor for the patient. The days
+     * the occurrences fall on are loaded into the occupancy index with one
+     * range query, so every occurrence is checked
+     * with bit tests. The free ones are inserted in one batched transaction;
+     * if it loses a race for a slot it is rolled back and the free ones are
+     * booked one by one, so only the taken slots are reported as conflicts.
+     * @return One result per requested time, in request order, each with a
+     *         {@code status} of "booked" or "conflict"; null if the doctor
+     *         does not exist
+     */
+    public List<Map<String, Object>> bookSeries(AppointmentSeries series, AuthenticatedUser user) {
+        Patient patient = (Patient) user.getAccount();
+        List<LocalDateTime> times = series.occurrenceTimes();
+        Long doctorId = series.getDoctorId();
+        Doctor doctor = new Doctor();
+        doctor.setId(doctorId);
+
+        SortedSet<LocalDate> dates = new TreeSet<>();
+        for (LocalDateTime time : times) {
+            dates.add(time.toLocalDate());
+        }
+        slotOccupancyIndex.prime(List.of(doctorId), dates);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, Object>> results = new ArrayList<>(times.size());
+        Map<Appointment, Map<String, Object>> accepted = new LinkedHashMap<>();
+        Set<LocalDateTime> requested = new HashSet<>();
+        for (LocalDateTime time : times) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("appointmentTime", time);
+            results.add(result);
+            if (!time.isAfter(now)) {
+                conflict(result, "Appointment time must be in the future");
+                continue;
+            }
+            if (!requested.add(time)) {
+                conflict(result, "This time is requested more than once");
+                continue;
+            }
+            Appointment appointment = new Appointment(null, doctor, patient, time, 0);
+            int validation = service.validateAppointment(appointment);
+            if (validation == -1) {
+                return null;
+            }
+            if (validation != 1) {
+                conflict(result, "Slot unavailable: The doctor is already booked at this time or is not available.");
+                continue;
+            }
+            accepted.put(appointment, result);
+        }
+
+        if (!accepted.isEmpty()) {
+            insertSeries(doctorId, accepted);
+        }
+        logger.info("Series for Patient ID {} with Doctor ID {}: {} of {} booked", patient.getId(), doctorId,
+                accepted.size(), times.size());
+        return results;
+    }
+
+    private void insertSeries(Long doctorId, Map<Appointment, Map<String, Object>> accepted) {
+        List<Appointment> appointments = new ArrayList<>(accepted.keySet());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                appointmentRepository.saveAll(appointments);
+                appointmentRepository.flush();
+                Map<YearMonth, Integer> perMonth = new TreeMap<>();
+                for (Appointment appointment : appointments) {
+                    perMonth.merge(YearMonth.from(appointment.getAppointmentTime()), 1, Integer::sum);
+                }
+                perMonth.forEach((month, booked) -> doctorMonthlyCountRepository.adjust(doctorId, month.getYear(),
+                        month.getMonthValue(), booked));
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Series for Doctor ID {} hit a taken slot, booking its occurrences one by one", doctorId);
+            accepted.forEach((appointment, result) -> {
+                appointment.setId(null);
+                int booked = bookAppointment(appointment);
+                if (booked == 1) {
+                    booked(result, appointment);
+                } else {
+                    conflict(result, booked == -1
+                            ? "Slot unavailable: The doctor is already booked at this time or is not available."
+                            : "A technical error occurred while booking this appointment.");
+                }
+            });
+            return;
+        }
+        accepted.forEach((appointment, result) -> {
+            slotOccupancyIndex.occupy(doctorId, appointment.getAppointmentTime());
+            booked(result, appointment);
+        });
+        patientAppointmentIndex.patientChanged(appointments.get(0).getPatient().getId());
+    }
+
+    private static void booked(Map<String, Object> result, Appointment appointment) {
+        result.put("status", "booked");
+        result.put("appointmentId", appointment.getId());
+    }
+
+    private static void conflict(Map<String, Object> result, String message) {
+        result.put("status", "conflict");
+        result.put("message", message);
+    }
+
     /**
      * Updates an existing appointment after validating business rules.
      */
@@ -78,8 +213,10 @@ public class AppointmentService {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
 
+        Appointment existing = existingOpt.get();
+
         // Validate that the appointment belongs to the correct patient
-        if (existingOpt.get().getPatient().getId() != appointment.getPatient().getId()) {
+        if (existing.getPatient().getId() != appointment.getPatient().getId()) {
             logger.error("Update failed: Patient ID mismatch for Appointment ID {}", appointment.getId());
             response.put("message", "Security Alert: You cannot update an appointment belonging to another patient.");
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
@@ -88,10 +225,22 @@ public class AppointmentService {
         int validationResult = service.validateAppointment(appointment);
         if (validationResult == 1) {
             try {
-                appointmentRepository.save(appointment);
+                transactionTemplate.executeWithoutResult(status -> {
+                    appointmentRepository.saveAndFlush(appointment);
+                    recount(existing, appointment);
+                });
+                slotOccupancyIndex.release(existing.getDoctor().getId(), existing.getAppointmentTime());
+                slotOccupancyIndex.occupy(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+                patientAppointmentIndex.patientChanged(existing.getPatient().getId());
+                reportService.appointmentChanged(appointment.getId());
                 logger.info("Appointment ID {} updated successfully", appointment.getId());
                 response.put("message", "Appointment details have been updated successfully.");
                 return ResponseEntity.ok(response);
+            } catch (DataIntegrityViolationException e) {
+                logger.warn("Slot conflict while updating Appointment ID {}", appointment.getId());
+                slotOccupancyIndex.release(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+                response.put("message", "Slot unavailable: The doctor is already booked at this time or is not available.");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
             } catch (Exception e) {
                 logger.error("Database error during update for Appointment {}: {}", appointment.getId(), e.getMessage());
                 response.put("message", "A technical error occurred while saving the update.");
@@ -107,9 +256,9 @@ public class AppointmentService {
     }
 
     /**
-     * Cancels an appointment if the token matches the patient identity.
+     * Cancels an appointment if it belongs to the patient.
      */
-    public ResponseEntity<Map<String, String>> cancelAppointment(long id, String token) {
+    public ResponseEntity<Map<String, String>> cancelAppointment(long id, AuthenticatedUser patient) {
         Map<String, String> response = new HashMap<>();
         Optional<Appointment> appointmentOpt = appointmentRepository.findById(id);
 
@@ -118,17 +267,22 @@ public class AppointmentService {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
 
-        String email = tokenService.extractEmail(token);
-        Patient patient = patientRepository.findByEmail(email);
+        String email = patient.getEmail();
 
-        if (patient == null || !patient.getId().equals(appointmentOpt.get().getPatient().getId())) {
+        if (!patient.getId().equals(appointmentOpt.get().getPatient().getId())) {
             logger.warn("Unauthorized cancellation attempt for Appointment ID {} by User {}", id, email);
             response.put("message", "Unauthorized: You do not have permission to cancel this appointment.");
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
         }
 
         try {
-            appointmentRepository.delete(appointmentOpt.get());
+            transactionTemplate.executeWithoutResult(status -> {
+                appointmentRepository.delete(appointmentOpt.get());
+                count(appointmentOpt.get().getDoctor().getId(), appointmentOpt.get().getAppointmentTime(), -1);
+            });
+            slotOccupancyIndex.release(appointmentOpt.get().getDoctor().getId(), appointmentOpt.get().getAppointmentTime());
+            patientAppointmentIndex.patientChanged(patient.getId());
+            reportService.appointmentChanged(id);
             logger.info("Appointment ID {} cancelled by Patient {}", id, email);
             response.put("message", "Appointment has been successfully cancelled.");
             return ResponseEntity.ok(response);
@@ -139,51 +293,73 @@ public class AppointmentService {
         }
     }
 
-    @Transactional
-    public Map<String, Object> getAppointment(String pname, LocalDate date, String token) {
-        Map<String, Object> map = new HashMap<>();
-        String extractedEmail = tokenService.extractEmail(token);
-        
-        var doctor = doctorRepository.findByEmail(extractedEmail);
-        if (doctor == null) {
-            logger.warn("Fetch failed: No doctor associated with email {}", extractedEmail);
-            map.put("appointments", List.of());
-            return map;
+    // Moves the doctor's monthly and yearly appointment counts; call inside the write's transaction
+    private void count(Long doctorId, LocalDateTime time, int delta) {
+        doctorMonthlyCountRepository.adjust(doctorId, time.getYear(), time.getMonthValue(), delta);
+    }
+
+    private void recount(Appointment before, Appointment after) {
+        LocalDateTime from = before.getAppointmentTime();
+        LocalDateTime to = after.getAppointmentTime();
+        if (before.getDoctor().getId().equals(after.getDoctor().getId()) && from.getYear() == to.getYear()
+                && from.getMonthValue() == to.getMonthValue()) {
+            return;
         }
+        count(before.getDoctor().getId(), from, -1);
+        count(after.getDoctor().getId(), to, 1);
+    }
 
+    /**
+     * Lists a doctor's appointments for one day, optionally filtered by patient
+     * name. With a cursor, returns one keyset page plus {@code nextCursor}.
+     */
+    @Transactional
+    public Map<String, Object> getAppointment(String pname, LocalDate date, AuthenticatedUser doctor,
+            AppointmentCursor cursor) {
+        Map<String, Object> map = new HashMap<>();
         Long doctorId = doctor.getId();
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
 
-        List<Appointment> appointments;
-        if (pname == null || pname.equalsIgnoreCase("null") || pname.isEmpty()) {
-            appointments = appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(doctorId, startOfDay, endOfDay);
+        List<AppointmentDTO> appointmentDTOs;
+        boolean allPatients = pname == null || pname.equalsIgnoreCase("null") || pname.isEmpty();
+        if (cursor == null) {
+            appointmentDTOs = allPatients
+                    ? appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(doctorId, startOfDay, endOfDay)
+                    : appointmentRepository.findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
+                            doctorId, pname, startOfDay, endOfDay);
         } else {
-            appointments = appointmentRepository.findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
-                    doctorId, pname, startOfDay, endOfDay);
+            appointmentDTOs = allPatients
+                    ? appointmentRepository.findDoctorDayPage(doctorId, startOfDay, endOfDay, cursor.getAfterTime(),
+                            cursor.getAfterId(), cursor.limit())
+                    : appointmentRepository.findDoctorDayPageByPatientName(doctorId, pname, startOfDay, endOfDay,
+                            cursor.getAfterTime(), cursor.getAfterId(), cursor.limit());
         }
 
-        List<AppointmentDTO> appointmentDTOs = appointments.stream()
-                .map(app -> new AppointmentDTO(
-                        app.getId(),
-                        app.getDoctor().getId(),
-                        app.getDoctor().getName(),
-                        app.getPatient().getId(),
-                        app.getPatient().getName(),
-                        app.getPatient().getEmail(),
-                        app.getPatient().getPhone(),
-                        app.getPatient().getAddress(),
-                        app.getAppointmentTime(),
-                        app.getStatus()))
-                .collect(Collectors.toList());
-
+        if (cursor != null) {
+            map.put("nextCursor", cursor.trim(appointmentDTOs));
+        }
         map.put("appointments", appointmentDTOs);
         return map;
     }
 
+    /** @return The appointment's status, or null if it does not exist */
+    public Integer findStatus(long appointmentId) {
+        return appointmentRepository.findById(appointmentId).map(Appointment::getStatus).orElse(null);
+    }
+
+    /**
+     * Moves an appointment to a new status only if it is still in the expected one.
+     * @return true if the status was changed
+     */
     @Transactional
-    public void changeStatus(long appointmentId) {
-        logger.info("Updating status for Appointment ID: {}", appointmentId);
-        appointmentRepository.updateStatus(1, appointmentId);
+    public boolean transitionStatus(long appointmentId, int from, int to) {
+        logger.info("Updating status for Appointment ID {} from {} to {}", appointmentId, from, to);
+        if (appointmentRepository.transitionStatus(appointmentId, from, to) != 1) {
+            return false;
+        }
+        patientAppointmentIndex.appointmentChanged(appointmentId);
+        reportService.appointmentChanged(appointmentId);
+        return true;
     }
 }
@@ -0,0 +1,187 @@
+package com.project.back_end.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.TimeSlot;
+import com.project.back_end.repo.DoctorRepository;
+
+/**
+ * Immutable in-memory snapshot of the doctor roster, indexed by id, specialty,
+ * AM/PM availability and name trigrams ({@link DoctorNameIndex}). The roster is read on every landing-page load but
+ * changes rarely, so reads go to the snapshot and {@link DoctorService} swaps
+ * in a freshly loaded one after every doctor write. Snapshots older than
+ * {@code doctor.directory.max-age-seconds} are reloaded on next read so that
+ * writes made through other instances show up as well.
+ */
+@Component
+public class DoctorDirectory {
+
+    private final DoctorRepository doctorRepository;
+
+    @Value("${doctor.directory.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    private volatile Snapshot snapshot;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public DoctorDirectory(DoctorRepository doctorRepository) {
+        this.doctorRepository = doctorRepository;
+    }
+
+    /** @return Every doctor, ordered by id */
+    public List<Doctor> all() {
+        return current().doctors;
+    }
+
+    /** @return The doctor with the given id, or null */
+    public Doctor get(Long id) {
+        return current().byId.get(id);
+    }
+
+    /**
+     * Filters the roster. Each criterion is optional (null); the name matches
+     * as a case-insensitive substring, the specialty case-insensitively, and
+     * amOrPm keeps doctors with at least one morning ("am") or afternoon
+     * (anything else) slot.
+     */
+    public List<Doctor> filter(String name, String specialty, String amOrPm) {
+        Snapshot current = current();
+        List<Entry> candidates;
+        if (specialty != null) {
+            candidates = current.bySpecialty.getOrDefault(specialty.toLowerCase(Locale.ROOT), List.of());
+        } else if (amOrPm != null) {
+            candidates = amOrPm.equalsIgnoreCase("am") ? current.morning : current.afternoon;
+        } else {
+            candidates = current.entries;
+        }
+
+        String needle = name == null ? null : name.toLowerCase(Locale.ROOT);
+        Boolean morning = amOrPm == null ? null : amOrPm.equalsIgnoreCase("am");
+        List<Doctor> result = new ArrayList<>();
+        for (Entry entry : candidates) {
+            if (needle != null && !entry.lowerName.contains(needle)) {
+                continue;
+            }
+            if (morning != null && !(morning ? entry.morning : entry.afternoon)) {
+                continue;
+            }
+            result.add(entry.doctor);
+        }
+        return result;
+    }
+
+    /**
+     * Search-as-you-type over names, specialties and emails, tolerating small
+     * typos; see {@link DoctorNameIndex} for the ranking.
+     * @return Up to {@code limit} doctors, best match first
+     */
+    public List<Doctor> search(String query, int limit) {
+        return current().nameIndex.search(query, limit);
+    }
+
+    /**
+     * Reloads the roster from the database and swaps it in. Called after every
+     * doctor write; serialized so a slow reload can never overwrite a newer one.
+     */
+    public void refresh() {
+        reloadLock.lock();
+        try {
+            snapshot = load();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || System.nanoTime() - current.loadedAt > maxAgeSeconds * 1_000_000_000L) {
+            reloadLock.lock();
+            try {
+                if (snapshot == current) {
+                    snapshot = load();
+                }
+                current = snapshot;
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        List<Doctor> doctors = new ArrayList<>();
+        for (Doctor doctor : doctorRepository.findAllWithAvailableTimes()) {
+            // copies, so the snapshot never shares state with a persistence context
+            doctors.add(new Doctor(doctor.getId(), doctor.getName(), doctor.getSpecialty(), doctor.getEmail(),
+                    doctor.getPassword(), doctor.getPhone(),
+                    doctor.getAvailableTimes() == null ? List.of() : List.copyOf(doctor.getAvailableTimes())));
+        }
+        doctors.sort((a, b) -> a.getId().compareTo(b.getId()));
+        return new Snapshot(doctors);
+    }
+
+    private static final class Entry {
+        final Doctor doctor;
+        final String lowerName;
+        final boolean morning;
+        final boolean afternoon;
+
+        Entry(Doctor doctor) {
+            this.doctor = doctor;
+            this.lowerName = doctor.getName() == null ? "" : doctor.getName().toLowerCase(Locale.ROOT);
+            this.morning = doctor.getAvailableTimes().stream().anyMatch(TimeSlot::isMorning);
+            this.afternoon = doctor.getAvailableTimes().stream().anyMatch(slot -> !slot.isMorning());
+        }
+    }
+
+    private static final class Snapshot {
+        final long loadedAt = System.nanoTime();
+        final List<Doctor> doctors;
+        final List<Entry> entries;
+        final Map<Long, Doctor> byId;
+        final Map<String, List<Entry>> bySpecialty;
+        final List<Entry> morning;
+        final List<Entry> afternoon;
+        final DoctorNameIndex nameIndex;
+
+        Snapshot(List<Doctor> doctors) {
+            List<Entry> entries = new ArrayList<>(doctors.size());
+            Map<Long, Doctor> byId = new HashMap<>();
+            Map<String, List<Entry>> bySpecialty = new HashMap<>();
+            List<Entry> morning = new ArrayList<>();
+            List<Entry> afternoon = new ArrayList<>();
+            for (Doctor doctor : doctors) {
+                Entry entry = new Entry(doctor);
+                entries.add(entry);
+                byId.put(doctor.getId(), doctor);
+                if (doctor.getSpecialty() != null) {
+                    bySpecialty.computeIfAbsent(doctor.getSpecialty().toLowerCase(Locale.ROOT), k -> new ArrayList<>())
+                            .add(entry);
+                }
+                if (entry.morning) {
+                    morning.add(entry);
+                }
+                if (entry.afternoon) {
+                    afternoon.add(entry);
+                }
+            }
+            this.doctors = Collections.unmodifiableList(doctors);
+            this.entries = entries;
+            this.byId = byId;
+            this.bySpecialty = bySpecialty;
+            this.morning = morning;
+            this.afternoon = afternoon;
+            this.nameIndex = new DoctorNameIndex(this.doctors);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.project.back_end.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.TimeSlot;
+import com.project.back_end.repo.DoctorRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk doctor onboarding. Every row is validated on its own and reported back
+ * by its position; the rows that pass are checked against existing emails with
+ * one IN query per chunk and inserted in JDBC batches (doctor ids come from the
+ * pooled {@code doctor_seq}, so Hibernate can batch them).
+ */
+@Service
+public class DoctorImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorImportService.class);
+    private static final int EMAIL_CHUNK = 1000;
+    private static final String CSV_HEADER = "name,specialty,email,password,phone,availableTimes";
+
+    private final DoctorRepository doctorRepository;
+    private final DoctorService doctorService;
+    private final DoctorDirectory doctorDirectory;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    public DoctorImportService(DoctorRepository doctorRepository, DoctorService doctorService,
+            DoctorDirectory doctorDirectory, Validator validator, EntityManager entityManager,
+            TransactionTemplate transactionTemplate) {
+        this.doctorRepository = doctorRepository;
+        this.doctorService = doctorService;
+        this.doctorDirectory = doctorDirectory;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Parses a CSV file with the header
+     * {@code name,specialty,email,password,phone,availableTimes}, where
+     * availableTimes holds slots separated by ';' (e.g. 09:00-10:00;14:00-15:00).
+     * Rows that cannot be parsed are reported and skipped. Errors carry the
+     * row's line number in the file, counting the header and blank lines, so
+     * they point at the line an editor shows.
+     */
+    public ResponseEntity<Map<String, Object>> importCsv(String csv) {
+        List<String> lines = csv.lines().collect(Collectors.toList());
+        int header = 0;
+        while (header < lines.size() && lines.get(header).isBlank()) {
+            header++;
+        }
+        if (header == lines.size() || !lines.get(header).trim().equalsIgnoreCase(CSV_HEADER)) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("message", "The first line must be the header " + CSV_HEADER);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
+        }
+        // one entry per line, so row i + 1 is line i + 1; the header and blank lines stay null
+        List<Doctor> doctors = new ArrayList<>(lines.size());
+        Map<Integer, String> errors = new LinkedHashMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (i <= header || line.isBlank()) {
+                doctors.add(null);
+                continue;
+            }
+            try {
+                doctors.add(parseCsvRow(line));
+            } catch (IllegalArgumentException e) {
+                doctors.add(null);
+                errors.put(i + 1, e.getMessage());
+            }
+        }
+        return importDoctors(doctors, errors);
+    }
+
+    public ResponseEntity<Map<String, Object>> importDoctors(List<Doctor> doctors) {
+        return importDoctors(doctors, new LinkedHashMap<>());
+    }
+
+    // rows are numbered from 1; a null doctor is a row to skip, already reported if it failed to parse
+    private ResponseEntity<Map<String, Object>> importDoctors(List<Doctor> doctors, Map<Integer, String> errors) {
+        Map<String, Object> map = new HashMap<>();
+
+        Map<String, Integer> rowByEmail = new LinkedHashMap<>();
+        for (int i = 0; i < doctors.size(); i++) {
+            Doctor doctor = doctors.get(i);
+            int row = i + 1;
+            if (doctor == null) {
+                continue;
+            }
+            String problem = validate(doctor);
+            if (problem == null && rowByEmail.putIfAbsent(normalize(doctor.getEmail()), row) != null) {
+                problem = "Duplicate email in this import (first seen in row " + rowByEmail.get(normalize(doctor.getEmail())) + ")";
+            }
+            if (problem != null) {
+                errors.put(row, problem);
+            }
+        }
+
+        for (String existing : findExistingEmails(rowByEmail.keySet())) {
+            Integer row = rowByEmail.remove(normalize(existing));
+            if (row != null) {
+                errors.put(row, "Doctor with email " + existing + " already exists");
+            }
+        }
+
+        List<Doctor> accepted = new ArrayList<>(rowByEmail.size());
+        for (int row : rowByEmail.values()) {
+            Doctor doctor = doctors.get(row - 1);
+            doctor.setId(null);
+            accepted.add(doctor);
+        }
+
+        try {
+            insert(accepted);
+        } catch (Exception e) {
+            logger.error("Bulk import of {} doctors failed", accepted.size(), e);
+            map.put("message", "Import failed, no doctors were added");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(map);
+        }
+        if (!accepted.isEmpty()) {
+            doctorDirectory.refresh();
+        }
+        logger.info("Imported {} doctors, rejected {}", accepted.size(), errors.size());
+
+        List<Map<String, Object>> rowErrors = new ArrayList<>(errors.size());
+        errors.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(error -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("row", error.getKey());
+            entry.put("message", error.getValue());
+            rowErrors.add(entry);
+        });
+        map.put("imported", accepted.size());
+        map.put("failed", rowErrors.size());
+        map.put("errors", rowErrors);
+        return ResponseEntity.status(HttpStatus.OK).body(map);
+    }
+
+    private String validate(Doctor doctor) {
+        Set<ConstraintViolation<Doctor>> violations = validator.validate(doctor);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        if (!doctorService.hasAlignedSlots(doctor)) {
+            return "Available times must start and end on the hour";
+        }
+        return null;
+    }
+
+    private Set<String> findExistingEmails(Set<String> emails) {
+        Set<String> existing = new HashSet<>();
+        List<String> pending = new ArrayList<>(emails);
+        for (int from = 0; from < pending.size(); from += EMAIL_CHUNK) {
+            existing.addAll(doctorRepository.findExistingEmails(
+                    pending.subList(from, Math.min(from + EMAIL_CHUNK, pending.size()))));
+        }
+        return existing;
+    }
+
+    // one transaction; flushing per batch sends each batch as one JDBC batch and keeps the persistence context small
+    private void insert(List<Doctor> doctors) {
+        if (doctors.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < doctors.size(); from += batchSize) {
+                doctorRepository.saveAll(doctors.subList(from, Math.min(from + batchSize, doctors.size())));
+                entityManager.flush();
+                entityManager.clear();
+            }
+        });
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static Doctor parseCsvRow(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 6) {
+            throw new IllegalArgumentException("Expected 6 columns but found " + fields.size());
+        }
+        List<TimeSlot> slots = new ArrayList<>();
+        for (String slot : fields.get(5).split(";")) {
+            if (!slot.isBlank()) {
+                slots.add(TimeSlot.parse(slot));
+            }
+        }
+        return new Doctor(null, fields.get(0), fields.get(1), fields.get(2), fields.get(3), fields.get(4), slots);
+    }
+
+    // RFC 4180 fields on one line: commas separate, double quotes wrap, "" inside quotes is a quote
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -0,0 +1,273 @@
+package com.project.back_end.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import com.project.back_end.models.Doctor;
+
+/**
+ * Trigram index over doctor names, specialties and email local parts, built
+ * with each {@link DoctorDirectory} snapshot. Text is lower-cased, stripped of
+ * accents and split into words, and each word is padded the way PostgreSQL's
+ * pg_trgm pads it ("  smith "), so one- and two-letter word prefixes have
+ * trigrams of their own.
+ *
+ * <p>A query counts, per doctor, how many of its trigrams the doctor's text
+ * shares, using one posting list per query trigram. The doctors found are
+ * ranked: a field starting with the query first, then the query as a whole
+ * word, then a word starting with it, then a substring match (three letters or
+ * more). Below those come doctors sharing at least {@value #MIN_SIMILARITY} of
+ * the trigrams of every query word, which is about one typo in a short word.
+ * Names outrank specialties, which outrank emails.
+ */
+final class DoctorNameIndex {
+
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final double NAME = 1.0;
+    private static final double SPECIALTY = 0.8;
+    private static final double EMAIL = 0.7;
+    private static final double WHOLE_WORD = 0.95;
+    private static final double WORD_PREFIX = 0.9;
+    private static final double SUBSTRING = 0.75;
+    // a typo match scores at most this, below every exact match
+    private static final double FUZZY = 0.5;
+
+    // sorted by normalized name, so among equal scores the lower position ranks first
+    private final List<Doctor> doctors;
+    private final String[] names;
+    private final String[] specialties;
+    private final String[] emails;
+    // trigram -> ascending positions in doctors
+    private final Map<String, int[]> postings;
+
+    DoctorNameIndex(List<Doctor> roster) {
+        int size = roster.size();
+        String[] rosterNames = new String[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            rosterNames[i] = normalize(roster.get(i).getName());
+            order[i] = i;
+        }
+        // the roster comes ordered by id, so the stable sort breaks name ties by id
+        Arrays.sort(order, Comparator.comparing(i -> rosterNames[i]));
+
+        List<Doctor> sorted = new ArrayList<>(size);
+        names = new String[size];
+        specialties = new String[size];
+        emails = new String[size];
+        Map<String, int[]> lists = new HashMap<>();
+        Map<String, Integer> lengths = new HashMap<>();
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            Doctor doctor = roster.get(order[i]);
+            sorted.add(doctor);
+            names[i] = rosterNames[order[i]];
+            specialties[i] = normalize(doctor.getSpecialty());
+            emails[i] = normalize(localPart(doctor.getEmail()));
+            trigrams.clear();
+            addTrigrams(names[i], trigrams);
+            addTrigrams(specialties[i], trigrams);
+            addTrigrams(emails[i], trigrams);
+            // positions only grow, so every list stays sorted and duplicate-free
+            for (String trigram : trigrams) {
+                int length = lengths.merge(trigram, 1, Integer::sum);
+                int[] list = lists.get(trigram);
+                if (list == null || list.length < length) {
+                    list = list == null ? new int[4] : Arrays.copyOf(list, list.length * 2);
+                    lists.put(trigram, list);
+                }
+                list[length - 1] = i;
+            }
+        }
+        lists.replaceAll((trigram, list) -> Arrays.copyOf(list, lengths.get(trigram)));
+        this.doctors = sorted;
+        this.postings = lists;
+    }
+
+    /**
+     * @return Up to {@code limit} doctors matching the query, best first; ties
+     *         are broken by name
+     */
+    List<Doctor> search(String query, int limit) {
+        String needle = normalize(query);
+        if (needle.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Set<String> trigrams = new HashSet<>();
+        addTrigrams(needle, trigrams);
+        List<Set<String>> wordTrigrams = new ArrayList<>();
+        if (needle.indexOf(' ') >= 0) {
+            for (String word : needle.split(" ")) {
+                Set<String> own = new HashSet<>();
+                addTrigrams(word, own);
+                wordTrigrams.add(own);
+            }
+        }
+
+        int[] shared = new int[doctors.size()];
+        for (String trigram : trigrams) {
+            int[] list = postings.get(trigram);
+            if (list != null) {
+                for (int doctor : list) {
+                    shared[doctor]++;
+                }
+            }
+        }
+
+        // keep the best limit matches; the head of the heap is the worst of them
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+        String wordStart = " " + needle;
+        // text containing the needle lacks at most three of its trigrams: the two
+        // that pad the first word in front and the one that pads the last word behind
+        int exactFloor = trigrams.size() - 3;
+        int fuzzyFloor = (int) Math.ceil(MIN_SIMILARITY * trigrams.size());
+        // in name order, so a later doctor loses a tie and only has to beat the worst kept score
+        for (int doctor = 0; doctor < shared.length; doctor++) {
+            int count = shared[doctor];
+            if (count == 0 || (count < exactFloor && count < fuzzyFloor)) {
+                continue;
+            }
+            double floor = best.size() < limit ? 0 : best.peek().score;
+            if (floor >= NAME) {
+                break;
+            }
+            double similarity = (double) count / trigrams.size();
+            double score = count >= exactFloor ? score(doctor, needle, wordStart, similarity, floor)
+                    : FUZZY * similarity;
+            if (score > floor && score <= FUZZY && !wordTrigrams.isEmpty()
+                    && !everyWordSimilar(doctor, wordTrigrams)) {
+                continue;
+            }
+            if (score > floor) {
+                if (best.size() == limit) {
+                    best.poll();
+                }
+                best.add(new Match(doctor, score));
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(null);
+        List<Doctor> result = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            result.add(doctors.get(match.doctor));
+        }
+        return result;
+    }
+
+    // fields whose best possible score cannot beat floor are skipped
+    private double score(int doctor, String needle, String wordStart, double similarity, double floor) {
+        double best = NAME * fieldScore(names[doctor], needle, wordStart);
+        if (best < SPECIALTY && floor < SPECIALTY) {
+            best = Math.max(best, SPECIALTY * fieldScore(specialties[doctor], needle, wordStart));
+        }
+        if (best < EMAIL && floor < EMAIL) {
+            best = Math.max(best, EMAIL * fieldScore(emails[doctor], needle, wordStart));
+        }
+        if (best > 0) {
+            return best;
+        }
+        return similarity >= MIN_SIMILARITY ? FUZZY * similarity : 0;
+    }
+
+    private static double fieldScore(String field, String needle, String wordStart) {
+        if (field.startsWith(needle)) {
+            return 1.0;
+        }
+        // the query as a whole word beats a longer word it only starts
+        if (field.endsWith(wordStart) || field.contains(wordStart + ' ')) {
+            return WHOLE_WORD;
+        }
+        if (field.contains(wordStart)) {
+            return WORD_PREFIX;
+        }
+        // shorter needles only match at word starts, like their trigrams
+        return needle.length() >= 3 && field.contains(needle) ? SUBSTRING : 0;
+    }
+
+    // a multi-word typo match needs every word, not just the common ones like "dr"
+    private boolean everyWordSimilar(int doctor, List<Set<String>> wordTrigrams) {
+        for (Set<String> word : wordTrigrams) {
+            int found = 0;
+            for (String trigram : word) {
+                int[] list = postings.get(trigram);
+                if (list != null && Arrays.binarySearch(list, doctor) >= 0) {
+                    found++;
+                }
+            }
+            if (found < MIN_SIMILARITY * word.size()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addTrigrams(String text, Set<String> out) {
+        int start = 0;
+        while (start < text.length()) {
+            int end = text.indexOf(' ', start);
+            if (end < 0) {
+                end = text.length();
+            }
+            String padded = "  " + text.substring(start, end) + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                out.add(padded.substring(i, i + 3));
+            }
+            start = end + 1;
+        }
+    }
+
+    // lower case without accents; anything but letters and digits separates words
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                out.append(c);
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK && out.length() > 0
+                    && out.charAt(out.length() - 1) != ' ') {
+                out.append(' ');
+            }
+        }
+        int length = out.length();
+        return length > 0 && out.charAt(length - 1) == ' ' ? out.substring(0, length - 1) : out.toString();
+    }
+
+    private static String localPart(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        return at < 0 ? email : email.substring(0, at);
+    }
+
+    // natural order is rank order: higher score first, then lower position
+    private static final class Match implements Comparable<Match> {
+        final int doctor;
+        final double score;
+
+        Match(int doctor, double score) {
+            this.doctor = doctor;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Match other) {
+            int byScore = Double.compare(other.score, score);
+            return byScore != 0 ? byScore : Integer.compare(doctor, other.doctor);
+        }
+    }
+}
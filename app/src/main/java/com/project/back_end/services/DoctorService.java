@@ -2,124 +2,204 @@ package com.project.back_end.services;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.project.back_end.DTO.DoctorSuggestion;
 import com.project.back_end.DTO.Login;
-import com.project.back_end.models.Appointment;
 import com.project.back_end.models.Doctor;
+import com.project.back_end.models.TimeSlot;
 import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorMonthlyCountRepository;
 import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.DoctorSpecifications;
 
 import jakarta.transaction.Transactional;
 
 @Service
 public class DoctorService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DoctorService.class);
+
     private final DoctorRepository doctorRepository;
 
     private final AppointmentRepository appointmentRepository;
 
     private final TokenService tokenService;
 
+    private final SlotOccupancyIndex slotOccupancyIndex;
+
+    private final DoctorDirectory doctorDirectory;
+
+    private final PatientAppointmentIndex patientAppointmentIndex;
+
+    private final ReportService reportService;
+
+    private final DoctorMonthlyCountRepository doctorMonthlyCountRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
     public DoctorService(DoctorRepository doctorRepository, AppointmentRepository appointmentRepository,
-            TokenService tokenService) {
+            TokenService tokenService, SlotOccupancyIndex slotOccupancyIndex, DoctorDirectory doctorDirectory,
+            PatientAppointmentIndex patientAppointmentIndex, ReportService reportService,
+            DoctorMonthlyCountRepository doctorMonthlyCountRepository, TransactionTemplate transactionTemplate) {
         this.doctorRepository = doctorRepository;
         this.appointmentRepository = appointmentRepository;
         this.tokenService = tokenService;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.doctorDirectory = doctorDirectory;
+        this.patientAppointmentIndex = patientAppointmentIndex;
+        this.reportService = reportService;
+        this.doctorMonthlyCountRepository = doctorMonthlyCountRepository;
+        this.transactionTemplate = transactionTemplate;
     }
 
 
-    @Transactional
     public List<String> getDoctorAvailability(Long doctorId, LocalDate date) {
-        Optional<Doctor> doctor = doctorRepository.findById(doctorId);
+        Doctor doctor = doctorDirectory.get(doctorId);
 
-        if (doctor.isEmpty()) {
+        if (doctor == null) {
             return List.of("Doctor not found with ID: " + doctorId);
         }
 
-        List<String> availableSlots = doctor.get().getAvailableTimes().stream()
-                .map(Object::toString)
+        // Keep the doctor's slots whose time range is not taken on this date
+        return doctor.getAvailableTimes().stream()
+                .filter(slot -> isSlotFree(doctorId, date, slot))
+                .map(TimeSlot::toString)
                 .collect(Collectors.toList());
+    }
 
-        // Convert LocalDate to LocalDateTime (start and end of the day)
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-
-        // Fetch the appointments for this doctor on the given date
-        List<Appointment> appointments = appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(doctorId,
-                startOfDay, endOfDay);
-
-        // Set of booked slots for the doctor on this date
-        Set<String> bookedSlots = appointments.stream()
-                .map(appt -> {
-                    LocalDateTime start = appt.getAppointmentTime();
-                    LocalDateTime end = start.plusHours(1); // Add 1 hour to the start time to get the end time
-                    return formatSlot(start, end); // Format the slot as "HH:mm-HH:mm"
-                })
-                .collect(Collectors.toSet());
-
-        // Filter out booked slots from the available slots
-        return availableSlots.stream()
-                .filter(slot -> !bookedSlots.contains(slot))
-                .collect(Collectors.toList());
+    /**
+     * Builds a free-slot grid for several doctors over a date range: doctor id
+     * to date to the slots still open on that date. Doctors come from the
+     * directory and the booked appointments of the whole range are fetched with
+     * one query; unknown doctors and days before today are left out.
+     */
+    public Map<Long, Map<String, List<String>>> getDoctorsAvailability(List<Long> doctorIds, LocalDate from,
+            LocalDate to) {
+        Map<Long, Map<String, List<String>>> grid = new LinkedHashMap<>();
+        LocalDate today = LocalDate.now();
+        LocalDate start = from.isBefore(today) ? today : from;
+
+        slotOccupancyIndex.prime(doctorIds, start, to);
+
+        for (Long doctorId : doctorIds) {
+            Doctor doctor = doctorDirectory.get(doctorId);
+            if (doctor == null) {
+                continue;
+            }
+            Map<String, List<String>> days = new LinkedHashMap<>();
+            for (LocalDate date = start; !date.isAfter(to); date = date.plusDays(1)) {
+                LocalDate day = date;
+                days.put(day.toString(), doctor.getAvailableTimes().stream()
+                        .filter(slot -> isSlotFree(doctor.getId(), day, slot))
+                        .map(TimeSlot::toString)
+                        .collect(Collectors.toList()));
+            }
+            grid.put(doctor.getId(), days);
+        }
+        return grid;
     }
 
-    private String formatSlot(LocalDateTime start, LocalDateTime end) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
-        return start.format(formatter) + "-" + end.format(formatter);
+    /**
+     * Checks whether the doctor offers a slot starting at the given time and
+     * that slot is still free. Answered from the doctor directory and the
+     * occupancy index without touching the database.
+     * @return 1 if the slot can be booked, 0 if it is taken or not offered, -1 if the doctor does not exist
+     */
+    public int validateSlot(Long doctorId, LocalDateTime appointmentTime) {
+        Doctor doctor = doctorDirectory.get(doctorId);
+        if (doctor == null) {
+            return -1;
+        }
+        int minute = appointmentTime.getHour() * 60 + appointmentTime.getMinute();
+        if (minute % SlotOccupancyIndex.APPOINTMENT_MINUTES != 0) {
+            return 0;
+        }
+        for (TimeSlot slot : doctor.getAvailableTimes()) {
+            if (slot.getStartMinute() == minute) {
+                return isSlotFree(doctorId, appointmentTime.toLocalDate(), slot) ? 1 : 0;
+            }
+        }
+        return 0;
+    }
+
+    private boolean isSlotFree(Long doctorId, LocalDate date, TimeSlot slot) {
+        return slotOccupancyIndex.isFree(doctorId, date, slot.getStartMinute(), slot.getEndMinute());
+    }
+
+    // appointments last an hour and uk_appointment_doctor_time only covers the exact start,
+    // so slots off the hour would let 09:00 and 09:15 both commit and overlap
+    boolean hasAlignedSlots(Doctor doctor) {
+        return doctor.getAvailableTimes() == null || doctor.getAvailableTimes().stream()
+                .allMatch(slot -> slot.isAlignedTo(SlotOccupancyIndex.APPOINTMENT_MINUTES));
     }
 
     public int saveDoctor(Doctor doctor) {
 
-        // success: 1, conflict:-1, internal error: 0
+        // success: 1, conflict:-1, misaligned slots: -2, internal error: 0
         Doctor result = doctorRepository.findByEmail(doctor.getEmail());
 
         if (result != null) {
             return -1;
         }
+        if (!hasAlignedSlots(doctor)) {
+            return -2;
+        }
         try {
             doctorRepository.save(doctor);
+            doctorDirectory.refresh();
             return 1;
         } catch (Exception e) {
-            System.err.println("Error saving doctor: " + e.getMessage());
+            logger.error("Failed to save doctor {}", doctor.getEmail(), e);
             return 0;
         }
 
     }
 
     public int updateDoctor(Doctor doctor) {
-        // success: 1, conflict:-1, internal error: 0
+        // success: 1, not found:-1, misaligned slots: -2, internal error: 0
         Optional<Doctor> result = doctorRepository.findById(doctor.getId());
         if (!result.isPresent()) {
             return -1;
         }
+        if (!hasAlignedSlots(doctor)) {
+            return -2;
+        }
+        boolean renamed = !result.get().getName().equals(doctor.getName());
         try {
             doctorRepository.save(doctor);
+            doctorDirectory.refresh();
+            if (renamed) {
+                // cached patient histories and reports carry the old name
+                patientAppointmentIndex.clear();
+                reportService.clear();
+            }
             return 1;
         } catch (Exception e) {
-            System.err.println("Error saving doctor: " + e.getMessage());
+            logger.error("Failed to update doctor {}", doctor.getId(), e);
             return 0;
         }
 
     }
 
-    @Transactional
     public List<Doctor> getDoctors() {
-        List<Doctor> doctors = doctorRepository.findAll();
-        // Optionally touch the collection to force loading:
-        doctors.forEach(doc -> doc.getAvailableTimes().size());
-        return doctors;
+        return doctorDirectory.all();
     }
 
     public int deleteDoctor(long id) {
@@ -129,11 +209,19 @@ public class DoctorService {
             return -1;
         }
         try {
-            appointmentRepository.deleteAllByDoctorId(doctor.get().getId());
-            doctorRepository.delete(doctor.get());
+            // one transaction, so the doctor never disappears with appointments or rollup rows left behind
+            transactionTemplate.executeWithoutResult(status -> {
+                appointmentRepository.deleteAllByDoctorId(id);
+                doctorMonthlyCountRepository.deleteByDoctorId(id);
+                doctorRepository.delete(doctor.get());
+            });
+            slotOccupancyIndex.evict(doctor.get().getId());
+            patientAppointmentIndex.clear();
+            reportService.clear();
+            doctorDirectory.refresh();
             return 1;
         } catch (Exception e) {
-            System.err.println("Error saving doctor: " + e.getMessage());
+            logger.error("Failed to delete doctor {}", id, e);
             return 0;
         }
     }
@@ -145,7 +233,7 @@ public class DoctorService {
             Doctor doctor = doctorRepository.findByEmail(login.getEmail());
             if (doctor != null) {
                 if (doctor.getPassword().equals(login.getPassword())) {
-                    map.put("token", tokenService.generateToken(doctor.getEmail()));
+                    map.put("token", tokenService.generateToken(doctor.getEmail(), "doctor"));
                     return ResponseEntity.status(HttpStatus.OK).body(map);
                 } else {
                     map.put("error", "Password does not match");
@@ -156,107 +244,44 @@ public class DoctorService {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(map);
 
         } catch (Exception e) {
-            System.out.println("Error: " + e);
+            logger.error("Doctor login failed for {}", login.getEmail(), e);
             map.put("error", "Internal Server error");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(map);
         }
     }
 
-    @Transactional
-    public Map<String, Object> findDoctorByName(String name) {
-        Map<String, Object> map = new HashMap<>();
-        List<Doctor> doctorList = doctorRepository.findByNameLike(name);
-        doctorList.forEach(doc -> doc.getAvailableTimes().size());
-        map.put("doctors", doctorList);
-        return map;
+    /**
+     * Filters the whole roster in memory from the doctor directory.
+     * Each criterion is optional (null).
+     */
+    public List<Doctor> filterDoctors(String name, String specialty, String amOrPm) {
+        return doctorDirectory.filter(name, specialty, amOrPm);
     }
 
-    @Transactional
-    public Map<String, Object> filterDoctorsByNameSpecilityandTime(String name, String specialty, String amOrPm) {
-        Map<String, Object> map = new HashMap<>();
-
-        List<Doctor> doctors = doctorRepository.findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specialty);
-
-        List<Doctor> filteredDoctors = filterDoctorByTime(doctors,amOrPm);
-
-        map.put("doctors", filteredDoctors);
-        return map;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorByNameAndTime(String name, String amOrPm) {
-        Map<String, Object> map = new HashMap<>();
-
-        // Step 1: Fetch by name (partial match)
-        List<Doctor> doctors = doctorRepository.findByNameLike(name);
-
-        // Step 2: Filter by AM/PM
-        List<Doctor> filteredDoctors = filterDoctorByTime(doctors,amOrPm);
-
-        map.put("doctors", filteredDoctors);
-        return map;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorByNameAndSpecility(String name, String specilty) {
-        Map<String, Object> map = new HashMap<>();
-        List<Doctor> doctorList = doctorRepository.findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specilty);
-        doctorList.forEach(doc -> doc.getAvailableTimes().size());
-        map.put("doctors", doctorList);
-        return map;
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorByTimeAndSpecility(String specilty, String amOrPm) {
-        Map<String, Object> map = new HashMap<>();
-        List<Doctor> doctors = doctorRepository.findBySpecialtyIgnoreCase(specilty);
-        List<Doctor> filteredDoctors = filterDoctorByTime(doctors,amOrPm);
-        map.put("doctors", filteredDoctors);
-        return map;
-
-    }
-
-    @Transactional
-    public Map<String, Object> filterDoctorBySpecility(String specilty) {
-        Map<String, Object> map = new HashMap<>();
-        List<Doctor> doctorList = doctorRepository.findBySpecialtyIgnoreCase(specilty);
-        doctorList.forEach(doc -> doc.getAvailableTimes().size());
-        map.put("doctors", doctorList);
-        return map;
+    /**
+     * Doctors whose name, specialty or email matches a partial, possibly
+     * misspelled query, best match first. Answered from the directory's
+     * trigram index, so each keystroke costs no query.
+     */
+    public List<DoctorSuggestion> suggestDoctors(String query, int limit) {
+        List<DoctorSuggestion> suggestions = new ArrayList<>();
+        for (Doctor doctor : doctorDirectory.search(query, limit)) {
+            suggestions.add(new DoctorSuggestion(doctor.getId(), doctor.getName(), doctor.getSpecialty(),
+                    doctor.getEmail()));
+        }
+        return suggestions;
     }
 
+    /**
+     * Runs one page of a doctor search in SQL, with name, specialty and AM/PM
+     * conditions composed into a single query. Each criterion is optional (null).
+     */
     @Transactional
-    public Map<String, Object> filterDoctorsByTime(String amOrPm) {
-        Map<String, Object> map = new HashMap<>();
-        List<Doctor> doctors = doctorRepository.findAll();
-        List<Doctor> filteredDoctors = filterDoctorByTime(doctors,amOrPm);
-        map.put("doctors", filteredDoctors);
-        return map;
+    public Page<Doctor> searchDoctors(String name, String specialty, String amOrPm, Pageable pageable) {
+        Page<Doctor> page = doctorRepository.findAll(DoctorSpecifications.matching(name, specialty, amOrPm), pageable);
+        // load the page's slot collections (batched) before the session closes
+        page.forEach(doctor -> Hibernate.initialize(doctor.getAvailableTimes()));
+        return page;
     }
 
-
-    public  List<Doctor> filterDoctorByTime(List<Doctor> doctors,String amOrPm)
-    {
-        return doctors.stream()
-        .filter(doctor -> {
-            if (amOrPm == null || amOrPm.isBlank())
-                return true;
-
-            boolean isAM = amOrPm.equalsIgnoreCase("am");
-            return doctor.getAvailableTimes().stream().anyMatch(slot -> {
-                try {
-                    String startHourStr = slot.split("-")[0].split(":")[0]; // e.g. "09"
-                    int hour = Integer.parseInt(startHourStr);
-                    return isAM ? hour < 12 : hour >= 12;
-                } catch (Exception e) {
-                    return false; // Skip invalid time slots
-                }
-            });
-        })
-        .collect(Collectors.toList());
-    }
-
-
-
-   
-}
\ No newline at end of file
+}
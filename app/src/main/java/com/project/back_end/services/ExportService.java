@@ -0,0 +1,196 @@
+package com.project.back_end.services;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.repo.AppointmentRepository;
+
+/**
+ * Appointment export for billing. Rows are read through a database cursor and
+ * written to the response one at a time, so memory use does not depend on the
+ * size of the range.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final String CSV_HEADER = "id,appointmentTime,status,doctorId,doctorName,patientId,patientName,"
+            + "patientEmail,patientPhone\n";
+
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final AppointmentRepository appointmentRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final TransactionTemplate readOnly;
+
+    public ExportService(AppointmentRepository appointmentRepository, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.appointmentRepository = appointmentRepository;
+        this.objectMapper = objectMapper;
+        // one object per line; flushing is left to the buffer instead of every row, closing to the container
+        this.rowWriter = objectMapper.writerFor(AppointmentDTO.class).withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    /**
+     * Streams the appointments starting in {@code [from, to)} in time order.
+     * The query runs when the body is written, inside its own read-only
+     * transaction.
+     */
+    public StreamingResponseBody exportAppointments(LocalDate from, LocalDate to, Format format) {
+        return out -> {
+            long started = System.nanoTime();
+            long rows;
+            try {
+                rows = readOnly.execute(status -> {
+                    try (Stream<AppointmentDTO> appointments = appointmentRepository.streamRange(
+                            from.atStartOfDay(), to.atStartOfDay())) {
+                        return write(appointments.iterator(), format, out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // usually the client went away mid-export
+                throw e.getCause();
+            }
+            long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+            logger.info("Exported {} appointments from {} to {} as {} in {} ms ({} rows/s)", rows, from, to,
+                    format.getExtension(), millis, rows * 1000 / millis);
+        };
+    }
+
+    /**
+     * A JSON message body, for answering an export request that was refused.
+     */
+    public StreamingResponseBody message(Map<String, String> map) {
+        return out -> objectMapper.writeValue(out, map);
+    }
+
+    /**
+     * Writes rows in the given format and flushes.
+     * @return Number of rows written
+     */
+    public long write(Iterator<AppointmentDTO> appointments, Format format, OutputStream out) throws IOException {
+        return format == Format.NDJSON ? writeNdjson(appointments, out) : writeCsv(appointments, out);
+    }
+
+    private long writeNdjson(Iterator<AppointmentDTO> appointments, OutputStream out) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, BUFFER_BYTES);
+        long rows = 0;
+        try (SequenceWriter sequence = rowWriter.writeValues(buffered)) {
+            while (appointments.hasNext()) {
+                sequence.write(appointments.next());
+                rows++;
+            }
+        }
+        if (rows > 0) {
+            buffered.write('\n');
+        }
+        buffered.flush();
+        return rows;
+    }
+
+    private long writeCsv(Iterator<AppointmentDTO> appointments, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_BYTES);
+        writer.write(CSV_HEADER);
+        long rows = 0;
+        while (appointments.hasNext()) {
+            AppointmentDTO row = appointments.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getAppointmentTime()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getStatus()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getDoctorId()));
+            writer.write(',');
+            writeCsvField(writer, row.getDoctorName());
+            writer.write(',');
+            writer.write(String.valueOf(row.getPatientId()));
+            writer.write(',');
+            writeCsvField(writer, row.getPatientName());
+            writer.write(',');
+            writeCsvField(writer, row.getPatientEmail());
+            writer.write(',');
+            writeCsvField(writer, row.getPatientPhone());
+            writer.write('\n');
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    // RFC 4180: quote fields holding a separator, quote or line break, doubling inner quotes.
+    // Names are user input: a leading =, +, -, @, tab or CR would make a spreadsheet run the
+    // field as a formula, so such fields get a leading ' and are quoted.
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean formula = "=+-@\t\r".indexOf(value.charAt(0)) >= 0;
+        boolean quote = formula;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
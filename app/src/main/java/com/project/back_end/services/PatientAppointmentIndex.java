@@ -0,0 +1,217 @@
+package com.project.back_end.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.repo.AppointmentRepository;
+
+/**
+ * The appointment history of recently active patients, loaded with one query
+ * on first use and grouped by doctor, so the patient dashboard's unpaged
+ * filters (doctor name, past/future, both) are answered in memory instead of
+ * with a {@code LIKE} scan over the join per keystroke. Paged lists keep their
+ * keyset queries, so a deep page never loads the whole history.
+ *
+ * <p>Doctor names are matched as a case-insensitive substring, like the
+ * {@code LOWER(d.name) LIKE} of the paged queries, so a filter returns the same
+ * rows with or without a page size; the test runs once per doctor the patient
+ * has seen rather than once per appointment.
+ * {@link AppointmentService} evicts a patient after booking, updating or
+ * cancelling, and the patient owning an appointment after a status change;
+ * doctor edits drop everything. Histories older than
+ * {@code patient.appointment-index.max-age-seconds} are reloaded on next read,
+ * so writes made through other instances or directly in the database show up
+ * as well.
+ */
+@Component
+public class PatientAppointmentIndex {
+
+    private static final int STRIPES = 64;
+    private static final Comparator<AppointmentDTO> ORDER = Comparator.comparing(AppointmentDTO::getAppointmentTime)
+            .thenComparing(AppointmentDTO::getId);
+
+    private final AppointmentRepository appointmentRepository;
+    private final int maxPatients;
+    private final long maxAgeNanos;
+
+    private final ConcurrentHashMap<Long, History> patients = new ConcurrentHashMap<>();
+    // appointment id -> cached patient listing it, so a status change finds the patient to evict
+    private final ConcurrentHashMap<Long, Long> cachedAppointments = new ConcurrentHashMap<>();
+    // bumped by evictions per patient stripe; a history read while its stripe moved is not cached
+    private final AtomicLongArray changes = new AtomicLongArray(STRIPES);
+    // bumped when a changed appointment's patient is not cached, which may be one being loaded
+    private final AtomicLong unownedChanges = new AtomicLong();
+
+    public PatientAppointmentIndex(AppointmentRepository appointmentRepository,
+            @Value("${patient.appointment-index.max-patients:10000}") int maxPatients,
+            @Value("${patient.appointment-index.max-age-seconds:60}") long maxAgeSeconds) {
+        this.appointmentRepository = appointmentRepository;
+        this.maxPatients = maxPatients;
+        this.maxAgeNanos = maxAgeSeconds * 1_000_000_000L;
+    }
+
+    /**
+     * Lists a patient's appointments in (appointmentTime, id) order.
+     * @param doctorName Part of the doctor's name, or null for every doctor
+     * @param status Only appointments in this status, or null for all
+     * @return A new list the caller may modify
+     */
+    public List<AppointmentDTO> find(long patientId, String doctorName, Integer status) {
+        History history = history(patientId);
+        List<AppointmentDTO> source = doctorName == null ? history.appointments : history.byDoctorName(doctorName);
+        List<AppointmentDTO> rows = new ArrayList<>();
+        for (AppointmentDTO appointment : source) {
+            if (status == null || appointment.getStatus() == status) {
+                rows.add(appointment);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Drops the patient's history. Inside a transaction the eviction waits for
+     * the commit, so a read in between cannot cache the old rows again.
+     */
+    public void patientChanged(long patientId) {
+        afterCommit(() -> evictPatient(patientId));
+    }
+
+    /** Drops the history of whichever patient owns this appointment. */
+    public void appointmentChanged(long appointmentId) {
+        afterCommit(() -> {
+            Long patientId = cachedAppointments.get(appointmentId);
+            if (patientId == null) {
+                unownedChanges.incrementAndGet();
+            } else {
+                evictPatient(patientId);
+            }
+        });
+    }
+
+    /** Drops every history, e.g. after a doctor is renamed or deleted. */
+    public void clear() {
+        afterCommit(() -> {
+            unownedChanges.incrementAndGet();
+            for (Long patientId : patients.keySet()) {
+                evictPatient(patientId);
+            }
+        });
+    }
+
+    private History history(long patientId) {
+        History cached = patients.get(patientId);
+        if (cached != null) {
+            if (System.nanoTime() - cached.loadedAt <= maxAgeNanos) {
+                return cached;
+            }
+            evictPatient(patientId);
+        }
+        int stripe = stripe(patientId);
+        long seen = changes.get(stripe);
+        long seenUnowned = unownedChanges.get();
+        List<AppointmentDTO> rows = new ArrayList<>(appointmentRepository.findByPatientId(patientId));
+        rows.sort(ORDER);
+        History history = new History(rows);
+        cache(patientId, history);
+        if (changes.get(stripe) != seen || unownedChanges.get() != seenUnowned) {
+            evictPatient(patientId);
+        }
+        return history;
+    }
+
+    private void cache(long patientId, History history) {
+        if (patients.size() >= maxPatients) {
+            // full: drop arbitrary patients, they are reloaded on next use
+            Iterator<Long> keys = patients.keySet().iterator();
+            while (patients.size() >= maxPatients && keys.hasNext()) {
+                evictPatient(keys.next());
+            }
+        }
+        for (AppointmentDTO appointment : history.appointments) {
+            cachedAppointments.put(appointment.getId(), patientId);
+        }
+        patients.put(patientId, history);
+    }
+
+    private void evictPatient(long patientId) {
+        changes.incrementAndGet(stripe(patientId));
+        History removed = patients.remove(patientId);
+        if (removed == null) {
+            return;
+        }
+        for (AppointmentDTO appointment : removed.appointments) {
+            cachedAppointments.remove(appointment.getId(), patientId);
+        }
+    }
+
+    private static int stripe(long patientId) {
+        return Long.hashCode(patientId) & (STRIPES - 1);
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    // one patient's appointments, each list in (appointmentTime, id) order
+    private static final class History {
+        final long loadedAt = System.nanoTime();
+        final List<AppointmentDTO> appointments;
+        final Map<Long, List<AppointmentDTO>> byDoctor = new LinkedHashMap<>();
+        // doctor id -> lower-cased name
+        final Map<Long, String> doctorNames = new LinkedHashMap<>();
+
+        History(List<AppointmentDTO> appointments) {
+            this.appointments = appointments;
+            for (AppointmentDTO appointment : appointments) {
+                byDoctor.computeIfAbsent(appointment.getDoctorId(), id -> new ArrayList<>()).add(appointment);
+                doctorNames.computeIfAbsent(appointment.getDoctorId(), id -> appointment.getDoctorName() == null ? ""
+                        : appointment.getDoctorName().toLowerCase(Locale.ROOT));
+            }
+        }
+
+        List<AppointmentDTO> byDoctorName(String doctorName) {
+            String needle = doctorName.toLowerCase(Locale.ROOT);
+            Set<Long> matching = new HashSet<>();
+            doctorNames.forEach((id, name) -> {
+                if (name.contains(needle)) {
+                    matching.add(id);
+                }
+            });
+            if (matching.size() <= 1) {
+                return matching.isEmpty() ? List.of() : byDoctor.get(matching.iterator().next());
+            }
+            List<AppointmentDTO> rows = new ArrayList<>();
+            for (AppointmentDTO appointment : appointments) {
+                if (matching.contains(appointment.getDoctorId())) {
+                    rows.add(appointment);
+                }
+            }
+            return rows;
+        }
+    }
+}
@@ -3,32 +3,34 @@ package com.project.back_end.services;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import com.project.back_end.DTO.AppointmentCursor;
 import com.project.back_end.DTO.AppointmentDTO;
-import com.project.back_end.models.Appointment;
+import com.project.back_end.DTO.AuthenticatedUser;
 import com.project.back_end.models.Patient;
 import com.project.back_end.repo.AppointmentRepository;
 import com.project.back_end.repo.PatientRepository;
 
-import jakarta.transaction.Transactional;
-
 @Service
 public class PatientService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PatientService.class);
+
     private final PatientRepository patientRepository;
     private final AppointmentRepository appointmentRepository;
-    private final TokenService tokenService;
+    private final PatientAppointmentIndex patientAppointmentIndex;
 
     public PatientService(PatientRepository patientRepository, AppointmentRepository appointmentRepository,
-            TokenService tokenService) {
+            PatientAppointmentIndex patientAppointmentIndex) {
         this.patientRepository = patientRepository;
         this.appointmentRepository = appointmentRepository;
-        this.tokenService = tokenService;
+        this.patientAppointmentIndex = patientAppointmentIndex;
     }
 
     public int createPatient(Patient patient) {
@@ -36,148 +38,110 @@ public class PatientService {
             patientRepository.save(patient);
             return 1;
         } catch (Exception e) {
-            System.out.println("Error: " + e);
+            logger.error("Failed to save patient {}", patient.getEmail(), e);
             return 0;
         }
 
     }
 
-    @Transactional
-    public ResponseEntity<Map<String, Object>> getPatientAppointment(Long id, String token) {
+    /**
+     * Lists a patient's appointments ordered by time. With a cursor, returns
+     * one keyset page plus the {@code nextCursor} to continue from. Here and
+     * in the filters below, full lists come from the
+     * {@link PatientAppointmentIndex} and pages from keyset queries.
+     */
+    public ResponseEntity<Map<String, Object>> getPatientAppointment(Long id, AppointmentCursor cursor) {
         Map<String, Object> map = new HashMap<>();
 
         try {
-            List<Appointment> appointments = appointmentRepository.findByPatientId(id);
-
-            // Convert appointments to DTOs
-            List<AppointmentDTO> appointmentDTOs = appointments.stream()
-                    .map(app -> new AppointmentDTO(
-                            app.getId(),
-                            app.getDoctor().getId(), // Only doctor ID
-                            app.getDoctor().getName(),
-                            app.getPatient().getId(),
-                            app.getPatient().getName(),
-                            app.getPatient().getEmail(),
-                            app.getPatient().getPhone(),
-                            app.getPatient().getAddress(),
-                            app.getAppointmentTime(),
-                            app.getStatus()))
-                    .collect(Collectors.toList());
-
-            map.put("appointments", appointmentDTOs);
+            List<AppointmentDTO> appointments = cursor == null
+                    ? patientAppointmentIndex.find(id, null, null)
+                    : appointmentRepository.findPatientPage(id, cursor.getAfterTime(), cursor.getAfterId(), cursor.limit());
+
+            putAppointments(map, appointments, cursor);
             return ResponseEntity.status(HttpStatus.OK).body(map);
         } catch (Exception e) {
-            System.out.println("Error: " + e);
+            logger.error("Failed to load appointments for patient {}", id, e);
             map.put("error", "Internal Server Error");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(map);
         }
     }
 
-    public ResponseEntity<Map<String, Object>> filterByCondition(String condition, Long id) {
+    public ResponseEntity<Map<String, Object>> filterByCondition(String condition, Long id, AppointmentCursor cursor) {
         Map<String, Object> map = new HashMap<>();
-        List<Appointment> appointments;
+        int status;
         if (condition.equals("past")) {
-            appointments = appointmentRepository.findByPatient_IdAndStatusOrderByAppointmentTimeAsc(id, 1);
+            status = 1;
 
         } else if (condition.equals("future")) {
-            appointments = appointmentRepository.findByPatient_IdAndStatusOrderByAppointmentTimeAsc(id, 0);
+            status = 0;
 
         } else {
             map.put("error", "Invalid filter");
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
 
         }
-        List<AppointmentDTO> appointmentDTOs = appointments.stream()
-                .map(app -> new AppointmentDTO(
-                        app.getId(),
-                        app.getDoctor().getId(), // Only doctor ID
-                        app.getDoctor().getName(),
-                        app.getPatient().getId(),
-                        app.getPatient().getName(),
-                        app.getPatient().getEmail(),
-                        app.getPatient().getPhone(),
-                        app.getPatient().getAddress(),
-                        app.getAppointmentTime(),
-                        app.getStatus()))
-                .collect(Collectors.toList());
-
-        map.put("appointments", appointmentDTOs);
+        List<AppointmentDTO> appointments = cursor == null
+                ? patientAppointmentIndex.find(id, null, status)
+                : appointmentRepository.findPatientPageByStatus(id, status, cursor.getAfterTime(), cursor.getAfterId(),
+                        cursor.limit());
+
+        putAppointments(map, appointments, cursor);
         return ResponseEntity.status(HttpStatus.OK).body(map);
     }
 
-    public ResponseEntity<Map<String, Object>> filterByDoctor(String name, Long patientId) {
+    public ResponseEntity<Map<String, Object>> filterByDoctor(String name, Long patientId, AppointmentCursor cursor) {
         Map<String, Object> map = new HashMap<>();
 
-        System.out.println("Startingur query");
-        List<Appointment> appointments = appointmentRepository.filterByDoctorNameAndPatientId(name,
-                patientId);
+        List<AppointmentDTO> appointments = cursor == null
+                ? patientAppointmentIndex.find(patientId, name, null)
+                : appointmentRepository.findPatientPageByDoctorName(patientId, name, cursor.getAfterTime(),
+                        cursor.getAfterId(), cursor.limit());
 
-        System.out.println(name);
-        System.out.println(patientId);
-        System.out.println("HI");
-        System.out.println(appointments.size());
-        for (Appointment appointment : appointments) {
-            System.out.println("" + appointment.getDoctor().getName());
-        }
+        logger.debug("Doctor filter '{}' matched {} appointments for patient {}", name, appointments.size(), patientId);
 
-        List<AppointmentDTO> appointmentDTOs = appointments.stream()
-                .map(app -> new AppointmentDTO(
-                        app.getId(),
-                        app.getDoctor().getId(), // Only doctor ID
-                        app.getDoctor().getName(),
-                        app.getPatient().getId(),
-                        app.getPatient().getName(),
-                        app.getPatient().getEmail(),
-                        app.getPatient().getPhone(),
-                        app.getPatient().getAddress(),
-                        app.getAppointmentTime(),
-                        app.getStatus()))
-                .collect(Collectors.toList());
-
-        map.put("appointments", appointmentDTOs);
+        putAppointments(map, appointments, cursor);
         return ResponseEntity.status(HttpStatus.OK).body(map);
     }
 
     public ResponseEntity<Map<String, Object>> filterByDoctorAndCondition(String condition, String name,
-            long patientId) {
+            long patientId, AppointmentCursor cursor) {
 
         Map<String, Object> map = new HashMap<>();
-        List<Appointment> appointments;
+        int status;
         if (condition.equals("past")) {
-            appointments = appointmentRepository.filterByDoctorNameAndPatientIdAndStatus(name, patientId, 1);
+            status = 1;
 
         } else if (condition.equals("future")) {
-            appointments = appointmentRepository.filterByDoctorNameAndPatientIdAndStatus(name, patientId, 0);
+            status = 0;
 
         } else {
             map.put("error", "Invalid filter");
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
 
         }
-        List<AppointmentDTO> appointmentDTOs = appointments.stream()
-                .map(app -> new AppointmentDTO(
-                        app.getId(),
-                        app.getDoctor().getId(), // Only doctor ID
-                        app.getDoctor().getName(),
-                        app.getPatient().getId(),
-                        app.getPatient().getName(),
-                        app.getPatient().getEmail(),
-                        app.getPatient().getPhone(),
-                        app.getPatient().getAddress(),
-                        app.getAppointmentTime(),
-                        app.getStatus()))
-                .collect(Collectors.toList());
-
-        map.put("appointments", appointmentDTOs);
+        List<AppointmentDTO> appointments = cursor == null
+                ? patientAppointmentIndex.find(patientId, name, status)
+                : appointmentRepository.findPatientPageByDoctorNameAndStatus(patientId, name, status,
+                        cursor.getAfterTime(), cursor.getAfterId(), cursor.limit());
+
+        putAppointments(map, appointments, cursor);
         return ResponseEntity.status(HttpStatus.OK).body(map);
     }
 
-    public ResponseEntity<Map<String,Object>> getPatientDetails(String token)
+    // Puts the rows under "appointments"; paged lists also get "nextCursor"
+    private void putAppointments(Map<String, Object> map, List<AppointmentDTO> appointments, AppointmentCursor cursor) {
+        if (cursor != null) {
+            map.put("nextCursor", cursor.trim(appointments));
+        }
+        map.put("appointments", appointments);
+    }
+
+    public ResponseEntity<Map<String,Object>> getPatientDetails(AuthenticatedUser patient)
     {
         Map<String, Object> map = new HashMap<>();
-        String email=tokenService.extractEmail(token);
-        Patient patient=patientRepository.findByEmail(email);
-        map.put("patient",patient);
+        // loaded while authenticating the request
+        map.put("patient",patient.getAccount());
         return ResponseEntity.status(HttpStatus.OK).body(map);
     }
 
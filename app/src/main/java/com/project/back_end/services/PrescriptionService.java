@@ -1,9 +1,17 @@
 package com.project.back_end.services;
 
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -13,36 +21,121 @@ import com.project.back_end.repo.PrescriptionRepository;
 
 @Service
 public class PrescriptionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrescriptionService.class);
+    private static final int SCHEDULED = 0;
+    private static final int COMPLETED = 1;
     
     private final PrescriptionRepository prescriptionRepository;
+    private final AppointmentService appointmentService;
+    private final AsyncTaskExecutor taskExecutor;
 
-    public PrescriptionService(PrescriptionRepository prescriptionRepository)
+    public PrescriptionService(PrescriptionRepository prescriptionRepository, AppointmentService appointmentService,
+            @Qualifier("prescriptionWriteExecutor") AsyncTaskExecutor taskExecutor)
     {
         this.prescriptionRepository=prescriptionRepository;
+        this.appointmentService=appointmentService;
+        this.taskExecutor=taskExecutor;
     }
 
+    /**
+     * Stores the prescription in MongoDB and marks its appointment completed in
+     * MySQL. The two writes run concurrently, so the doctor waits for the slower
+     * store rather than both. If only one side succeeds it is undone: the
+     * appointment goes back to scheduled, or the stored prescription is deleted.
+     * An appointment completed earlier without a prescription keeps the new one;
+     * a missing appointment gets 404 and one in any other status 409.
+     */
     public ResponseEntity<Map<String, String>> savePrescription(Prescription prescription)
     {
         Map<String, String> map=new HashMap<>();
-        try{
-            List<Prescription> result=prescriptionRepository.findByAppointmentId(prescription.getAppointmentId());
-            if(result.isEmpty())
-            {
-                prescriptionRepository.save(prescription);
-                map.put("message","Prescription saved");
-                return ResponseEntity.status(HttpStatus.CREATED).body(map); 
+        long appointmentId = prescription.getAppointmentId();
+
+        CompletableFuture<Prescription> stored = CompletableFuture.supplyAsync(() -> insertIfAbsent(prescription),
+                taskExecutor);
+        Boolean completed = null;
+        Throwable statusFailure = null;
+        try {
+            completed = appointmentService.transitionStatus(appointmentId, SCHEDULED, COMPLETED);
+        } catch (RuntimeException e) {
+            statusFailure = e;
+        }
+
+        Prescription saved = null;
+        Throwable storeFailure = null;
+        try {
+            saved = stored.join();
+        } catch (CompletionException e) {
+            storeFailure = e.getCause();
+        }
+
+        if (statusFailure == null && storeFailure == null && saved != null) {
+            Integer status = null;
+            try {
+                status = completed ? Integer.valueOf(COMPLETED) : appointmentService.findStatus(appointmentId);
+            } catch (RuntimeException e) {
+                statusFailure = e;
+            }
+            if (statusFailure == null) {
+                if (status != null && status == COMPLETED) {
+                    map.put("message","Prescription saved");
+                    return ResponseEntity.status(HttpStatus.CREATED).body(map);
+                }
+                deleteStored(saved);
+                if (status == null) {
+                    map.put("message","Appointment not found");
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(map);
+                }
+                map.put("message","Appointment is not scheduled");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(map);
             }
+        }
+
+        // partial outcome: undo whichever side went through
+        if (Boolean.TRUE.equals(completed)) {
+            revertStatus(appointmentId);
+        }
+        if (saved != null) {
+            deleteStored(saved);
+        }
+        if (statusFailure == null && storeFailure == null) {
             map.put("message","prescription already exists");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map); 
-            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(map);
         }
-        catch(Exception e)
-        {
-            System.out.println("Error: "+e);
-            map.put("message","Internal Server Error");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(map); 
+        logger.error("Failed to save prescription for appointment {}", appointmentId,
+                statusFailure != null ? statusFailure : storeFailure);
+        map.put("message","Internal Server Error");
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(map);
+    }
+
+    // returns null when the appointment already has a prescription; the unique
+    // index on appointmentId rejects the insert, so no lookup is needed first
+    private Prescription insertIfAbsent(Prescription prescription)
+    {
+        try {
+            return prescriptionRepository.insert(prescription);
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    private void revertStatus(long appointmentId)
+    {
+        try {
+            appointmentService.transitionStatus(appointmentId, COMPLETED, SCHEDULED);
+        } catch (RuntimeException e) {
+            logger.error("Could not revert status of appointment {} after a failed prescription save", appointmentId, e);
+        }
+    }
+
+    private void deleteStored(Prescription saved)
+    {
+        try {
+            prescriptionRepository.deleteById(saved.getId());
+        } catch (RuntimeException e) {
+            logger.error("Could not remove prescription {} after a failed status change", saved.getId(), e);
         }
-    } 
+    }
 
     public ResponseEntity<Map<String, Object>> getPrescription(Long appointmentId)
     {
@@ -55,9 +148,33 @@ public class PrescriptionService {
         }
         catch(Exception e)
         {
-            System.out.println("Error: "+e);
+            logger.error("Failed to load prescription for appointment {}", appointmentId, e);
             map.put("error","Internal Server Error");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(map); 
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Looks up the prescriptions of many appointments with a single query.
+     * The body maps appointment id to prescription; ids without one are absent.
+     */
+    public ResponseEntity<Map<String, Object>> getPrescriptions(Collection<Long> appointmentIds)
+    {
+        Map<String, Object> map=new HashMap<>();
+
+        try{
+            Map<Long, Prescription> byAppointment = new LinkedHashMap<>();
+            for (Prescription prescription : prescriptionRepository.findByAppointmentIdIn(appointmentIds)) {
+                byAppointment.putIfAbsent(prescription.getAppointmentId(), prescription);
+            }
+            map.put("prescriptions", byAppointment);
+            return ResponseEntity.status(HttpStatus.OK).body(map);
+        }
+        catch(Exception e)
+        {
+            logger.error("Failed to load prescriptions for {} appointments", appointmentIds.size(), e);
+            map.put("error","Internal Server Error");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(map);
+        }
+    }
+}
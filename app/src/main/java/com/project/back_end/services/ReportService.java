@@ -0,0 +1,233 @@
+package com.project.back_end.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.DTO.DoctorAppointmentCount;
+import com.project.back_end.DTO.DoctorDayReport;
+import com.project.back_end.models.DoctorMonthlyCount;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorMonthlyCountRepository;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Admin reports over the appointment table.
+ *
+ * <p>The daily report reads one day as a half-open range on
+ * {@code (appointment_time, doctor_id)} and folds the rows, which arrive
+ * ordered by doctor, into one section per doctor. Finished days are cached:
+ * nothing new is booked into the past, and the rare late change to a cached
+ * day (a prescription completing it, a cancellation) evicts that day through
+ * {@link #appointmentChanged(long)}. Renaming or deleting a doctor touches
+ * every day they worked, so it drops all cached days through {@link #clear()}.
+ *
+ * <p>The busiest-doctor rankings read the {@code doctor_monthly_count} rollup
+ * that {@link AppointmentService} maintains, so their cost depends on the
+ * number of doctors, not of appointments.
+ */
+@Service
+public class ReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorMonthlyCountRepository doctorMonthlyCountRepository;
+    private final TransactionTemplate readOnly;
+    private final int maxCachedDays;
+
+    private final ConcurrentHashMap<LocalDate, List<DoctorDayReport>> finishedDays = new ConcurrentHashMap<>();
+    // appointment id -> cached day listing it, so a change to that appointment finds the day to evict
+    private final ConcurrentHashMap<Long, LocalDate> cachedAppointments = new ConcurrentHashMap<>();
+    // bumped on every change; a day read while it moved is not cached
+    private final AtomicLong changes = new AtomicLong();
+
+    public ReportService(AppointmentRepository appointmentRepository,
+            DoctorMonthlyCountRepository doctorMonthlyCountRepository, PlatformTransactionManager transactionManager,
+            @Value("${reports.daily.cache-days:366}") int maxCachedDays) {
+        this.appointmentRepository = appointmentRepository;
+        this.doctorMonthlyCountRepository = doctorMonthlyCountRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.maxCachedDays = maxCachedDays;
+    }
+
+    /**
+     * Builds the appointment report of one day, grouped by doctor name.
+     */
+    public ResponseEntity<Map<String, Object>> getDailyReport(LocalDate date) {
+        Map<String, Object> map = new HashMap<>();
+        try {
+            map.put("date", date);
+            map.put("doctors", dailyReport(date));
+            return ResponseEntity.status(HttpStatus.OK).body(map);
+        } catch (Exception e) {
+            logger.error("Failed to build the daily report for {}", date, e);
+            map.put("error", "Internal Server Error");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(map);
+        }
+    }
+
+    public List<DoctorDayReport> dailyReport(LocalDate date) {
+        boolean finished = date.isBefore(LocalDate.now());
+        if (finished) {
+            List<DoctorDayReport> cached = finishedDays.get(date);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long seen = changes.get();
+        List<DoctorDayReport> report = readOnly.execute(status -> load(date));
+        if (finished) {
+            cache(date, report, seen);
+        }
+        return report;
+    }
+
+    /**
+     * Ranks doctors by appointments held in a month, or in the whole year when
+     * {@code month} is null.
+     */
+    public ResponseEntity<Map<String, Object>> getTopDoctors(int year, Integer month, int limit) {
+        Map<String, Object> map = new HashMap<>();
+        try {
+            int period = month == null ? DoctorMonthlyCount.WHOLE_YEAR : month;
+            List<DoctorAppointmentCount> doctors = doctorMonthlyCountRepository.findTop(year, period,
+                    PageRequest.ofSize(limit));
+            map.put("year", year);
+            if (month != null) {
+                map.put("month", month);
+            }
+            map.put("doctors", doctors);
+            return ResponseEntity.status(HttpStatus.OK).body(map);
+        } catch (Exception e) {
+            logger.error("Failed to rank doctors for {}/{}", year, month, e);
+            map.put("error", "Internal Server Error");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(map);
+        }
+    }
+
+    /**
+     * Recomputes the monthly rollup from the appointment table, for the first
+     * deployment or after appointments were changed outside the application.
+     */
+    @Transactional
+    public ResponseEntity<Map<String, String>> rebuildDoctorMonthlyCounts() {
+        Map<String, String> map = new HashMap<>();
+        doctorMonthlyCountRepository.deleteAllInBatch();
+        int months = doctorMonthlyCountRepository.insertMonthsFromAppointments();
+        int years = doctorMonthlyCountRepository.insertYearsFromAppointments();
+        logger.info("Rebuilt doctor_monthly_count: {} month rows, {} year rows", months, years);
+        map.put("message", "Rebuilt " + months + " monthly and " + years + " yearly doctor counts");
+        return ResponseEntity.status(HttpStatus.OK).body(map);
+    }
+
+    /**
+     * Drops any cached day listing this appointment. Inside a transaction the
+     * eviction waits for the commit, so a report read in between cannot cache
+     * the old row again.
+     */
+    public void appointmentChanged(long appointmentId) {
+        afterCommit(() -> evictAppointment(appointmentId));
+    }
+
+    /** Drops every cached day, e.g. after a doctor is renamed or deleted. */
+    public void clear() {
+        afterCommit(() -> {
+            changes.incrementAndGet();
+            for (LocalDate day : finishedDays.keySet()) {
+                evictDay(day);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private List<DoctorDayReport> load(LocalDate date) {
+        List<DoctorDayReport> report = new ArrayList<>();
+        try (Stream<AppointmentDTO> rows = appointmentRepository.streamDailyReport(date.atStartOfDay(),
+                date.plusDays(1).atStartOfDay())) {
+            DoctorDayReport current = null;
+            for (Iterator<AppointmentDTO> it = rows.iterator(); it.hasNext();) {
+                AppointmentDTO row = it.next();
+                if (current == null || !current.getDoctorId().equals(row.getDoctorId())) {
+                    current = new DoctorDayReport(row.getDoctorId(), row.getDoctorName());
+                    report.add(current);
+                }
+                current.getAppointments().add(row);
+            }
+        }
+        return Collections.unmodifiableList(report);
+    }
+
+    private void cache(LocalDate date, List<DoctorDayReport> report, long seen) {
+        if (finishedDays.size() >= maxCachedDays) {
+            // full: drop arbitrary days, they are rebuilt on next use
+            Iterator<LocalDate> days = finishedDays.keySet().iterator();
+            while (finishedDays.size() >= maxCachedDays && days.hasNext()) {
+                evictDay(days.next());
+            }
+        }
+        for (DoctorDayReport doctor : report) {
+            for (AppointmentDTO appointment : doctor.getAppointments()) {
+                cachedAppointments.put(appointment.getId(), date);
+            }
+        }
+        finishedDays.put(date, report);
+        if (changes.get() != seen) {
+            evictDay(date);
+        }
+    }
+
+    private void evictAppointment(long appointmentId) {
+        changes.incrementAndGet();
+        LocalDate day = cachedAppointments.get(appointmentId);
+        if (day != null) {
+            evictDay(day);
+        }
+    }
+
+    private void evictDay(LocalDate day) {
+        List<DoctorDayReport> removed = finishedDays.remove(day);
+        if (removed == null) {
+            return;
+        }
+        for (DoctorDayReport doctor : removed) {
+            for (AppointmentDTO appointment : doctor.getAppointments()) {
+                cachedAppointments.remove(appointment.getId(), day);
+            }
+        }
+    }
+}
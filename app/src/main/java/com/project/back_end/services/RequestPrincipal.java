@@ -0,0 +1,57 @@
+package com.project.back_end.services;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import com.project.back_end.DTO.AuthenticatedUser;
+
+/**
+ * Who the current request is from. Each token and role is verified and
+ * looked up once per request; the token check in the controller, the
+ * {@code @Authenticated} argument and the services all share the answer.
+ */
+@Component
+@RequestScope
+public class RequestPrincipal {
+
+    private final TokenService tokenService;
+
+    // token from the Authorization header, set by BearerTokenFilter
+    private String headerToken;
+    // role + token -> user, null when rejected
+    private final Map<String, AuthenticatedUser> resolved = new HashMap<>();
+
+    public RequestPrincipal(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    /**
+     * @param token Token from the path, or null to use the Authorization header
+     * @return The user holding the token in the given role, or null
+     */
+    public AuthenticatedUser authenticate(String token, String role) {
+        String bearer = token != null ? token : headerToken;
+        if (bearer == null || role == null) {
+            return null;
+        }
+        String key = role.toLowerCase(Locale.ROOT) + ' ' + bearer;
+        if (resolved.containsKey(key)) {
+            return resolved.get(key);
+        }
+        AuthenticatedUser user = tokenService.authenticate(bearer, role);
+        resolved.put(key, user);
+        return user;
+    }
+
+    public String getHeaderToken() {
+        return headerToken;
+    }
+
+    public void setHeaderToken(String headerToken) {
+        this.headerToken = headerToken;
+    }
+}
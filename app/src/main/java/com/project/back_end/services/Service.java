@@ -1,15 +1,17 @@
 package com.project.back_end.services;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.project.back_end.DTO.AppointmentCursor;
+import com.project.back_end.DTO.AuthenticatedUser;
 import com.project.back_end.DTO.Login;
 import com.project.back_end.models.Admin;
 import com.project.back_end.models.Appointment;
@@ -22,16 +24,21 @@ import com.project.back_end.repo.PatientRepository;
 @org.springframework.stereotype.Service
 public class Service {
 
+    private static final Logger logger = LoggerFactory.getLogger(Service.class);
+
     private final TokenService tokenService;
     private final AdminRepository adminRepository;
     private final DoctorRepository doctorRepository;
     private final DoctorService doctorService;
     private final PatientRepository patientRepository;
     private final PatientService patientService;
+    private final RequestPrincipal requestPrincipal;
 
     public Service(TokenService tokenService, AdminRepository adminRepository, DoctorService doctorService,
-            DoctorRepository doctorRepository, PatientRepository patientRepository,PatientService patientService) {
+            DoctorRepository doctorRepository, PatientRepository patientRepository,PatientService patientService,
+            RequestPrincipal requestPrincipal) {
         this.tokenService = tokenService;
+        this.requestPrincipal = requestPrincipal;
         this.adminRepository = adminRepository;
         this.doctorService = doctorService;
         this.doctorRepository = doctorRepository;
@@ -39,9 +46,14 @@ public class Service {
         this.patientService=patientService;
     }
 
+    /**
+     * Checks the token against the user table of the given role. The answer is
+     * kept for the rest of the request, so an {@code @Authenticated} parameter
+     * or a later check of the same token costs no further query.
+     */
     public ResponseEntity<Map<String, String>> validateToken(String token, String user) {
         Map<String, String> response = new HashMap<>();
-        if (!tokenService.validateToken(token, user)) {
+        if (requestPrincipal.authenticate(token, user) == null) {
             response.put("error", "Invalid or expired token");
         }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
@@ -53,7 +65,7 @@ public class Service {
             Admin admin = adminRepository.findByUsername(receivedAdmin.getUsername());
             if (admin != null) {
                 if (admin.getPassword().equals(receivedAdmin.getPassword())) {
-                    map.put("token", tokenService.generateToken(admin.getUsername()));
+                    map.put("token", tokenService.generateToken(admin.getUsername(), "admin"));
                     return ResponseEntity.status(HttpStatus.OK).body(map);
                 } else {
                     map.put("error", "Password does not match");
@@ -64,62 +76,40 @@ public class Service {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(map);
 
         } catch (Exception e) {
-            System.out.println("Error: " + e);
+            logger.error("Admin login failed for {}", receivedAdmin.getUsername(), e);
             map.put("error", "Internal Server error");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(map);
         }
     }
 
-    public Map<String, Object> filterDoctor(String name, String specility, String time) {
+    /**
+     * Filters doctors by any combination of name, specialty and AM/PM ("null"
+     * means not set). Unpaged requests are answered from the in-memory directory;
+     * paged ones run a single composed SQL query and include page metadata.
+     */
+    public Map<String, Object> filterDoctor(String name, String specility, String time, Pageable pageable) {
         Map<String, Object> map = new HashMap<>();
-        if (!name.equals("null") && !time.equals("null") && !specility.equals("null")) {
-            map = doctorService.filterDoctorsByNameSpecilityandTime(name, specility, time);
-        }
+        String nameFilter = name.equals("null") ? null : name;
+        String specialtyFilter = specility.equals("null") ? null : specility;
+        String timeFilter = time.equals("null") ? null : time;
 
-        else if (!name.equals("null") && !time.equals("null")) {
-            map = doctorService.filterDoctorByNameAndTime(name, time);
-        } else if (!name.equals("null") && !specility.equals("null")) {
-            map = doctorService.filterDoctorByNameAndSpecility(name, specility);
-        } else if (!specility.equals("null") && !time.equals("null")) {
-            map = doctorService.filterDoctorByTimeAndSpecility(specility, time);
-        } else if (!name.equals("null")) {
-            map = doctorService.findDoctorByName(name);
-        } else if (!specility.equals("null")) {
-            map = doctorService.filterDoctorBySpecility(specility);
-        } else if (!time.equals("null")) {
-            map = doctorService.filterDoctorsByTime(time);
-        } else {
-            map.put("doctors", doctorService.getDoctors());
+        if (pageable.isUnpaged()) {
+            map.put("doctors", doctorService.filterDoctors(nameFilter, specialtyFilter, timeFilter));
+            return map;
         }
+        Page<Doctor> page = doctorService.searchDoctors(nameFilter, specialtyFilter, timeFilter, pageable);
+        map.put("doctors", page.getContent());
+        map.put("page", page.getNumber());
+        map.put("size", page.getSize());
+        map.put("totalElements", page.getTotalElements());
+        map.put("totalPages", page.getTotalPages());
         return map;
 
     }
 
     public int validateAppointment(Appointment appointment) {
-        Doctor doctor = appointment.getDoctor();
-        Optional<Doctor> result = doctorRepository.findById(doctor.getId());
-        if (result.isEmpty()) {
-            return -1;
-        }
-        LocalDate appointmentDate = appointment.getAppointmentDate();
-        LocalTime appointmentTime = appointment.getAppointmentTimeOnly();
-        List<String> availableTime = doctorService.getDoctorAvailability(doctor.getId(), appointmentDate);
-
-        for (String timeSlot : availableTime) {
-            // Split the available time slot into start and end times (e.g., "9:00-10:00" ->
-            // ["9:00", "10:00"])
-            String[] times = timeSlot.split("-");
-
-            // Parse the start time and end time as LocalTime
-            LocalTime startTime = LocalTime.parse(times[0]);
-
-            if (appointmentTime.equals(startTime)) {
-                return 1; // The appointment time matches the start time of an available slot
-            }
-
-        }
-
-        return 0;
+        // Doctor lookup and slot check happen in one pass; booked slots come from the occupancy index
+        return doctorService.validateSlot(appointment.getDoctor().getId(), appointment.getAppointmentTime());
     }
 
     public boolean validatePatient(Patient patient) {
@@ -136,7 +126,7 @@ public class Service {
             Patient result = patientRepository.findByEmail(login.getEmail());
             if (result != null) {
                 if (result.getPassword().equals(login.getPassword())) {
-                    map.put("token", tokenService.generateToken(login.getEmail()));
+                    map.put("token", tokenService.generateToken(login.getEmail(), "patient"));
                     return ResponseEntity.status(HttpStatus.OK).body(map);
                 }
 
@@ -151,32 +141,31 @@ public class Service {
         }
 
         catch (Exception e) {
-            System.out.println("Error: " + e);
+            logger.error("Patient login failed for {}", login.getEmail(), e);
             map.put("error", "Internal Server error");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(map);
         }
     }
 
-    public ResponseEntity<Map<String,Object>> filterPatient(String condition,String name,String token)
+    public ResponseEntity<Map<String,Object>> filterPatient(String condition,String name,AuthenticatedUser patient,AppointmentCursor cursor)
     {
-        String extractedEmail = tokenService.extractEmail(token);
-        Long patientId = patientRepository.findByEmail(extractedEmail).getId();
+        Long patientId = patient.getId();
 
         if(name.equals("null") && !condition.equals("null"))
         {
-            return patientService.filterByCondition(condition,patientId);
+            return patientService.filterByCondition(condition,patientId,cursor);
         }
         else if(condition.equals("null")&& !name.equals("null"))
         {
-            return patientService.filterByDoctor(name,patientId);
+            return patientService.filterByDoctor(name,patientId,cursor);
         }
         else if(!condition.equals("null")&& !name.equals("null"))
         {
-            return patientService.filterByDoctorAndCondition(condition,name,patientId);
+            return patientService.filterByDoctorAndCondition(condition,name,patientId,cursor);
         }
         else
         {
-            return patientService.getPatientAppointment(patientId,token);
+            return patientService.getPatientAppointment(patientId,cursor);
         }
         
 
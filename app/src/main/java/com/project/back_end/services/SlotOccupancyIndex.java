@@ -0,0 +1,242 @@
+package com.project.back_end.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.project.back_end.repo.AppointmentRepository;
+
+/**
+ * In-memory occupancy index with one bit per 15-minute unit for every
+ * (doctor, day) pair that has been looked at.
+ * Days are rebuilt lazily from the appointment table the first time they are
+ * read and kept current by the booking, update and cancel paths in
+ * {@link AppointmentService}, so availability checks are plain bit tests.
+ * Days older than {@code appointment.occupancy.max-age-seconds} are reloaded
+ * on next read so that bookings made through other instances show up, and a
+ * booking that loses to one anyway drops its day at once. Days that have
+ * passed are swept out once a day.
+ */
+@Component
+public class SlotOccupancyIndex {
+
+    static final int MINUTES_PER_UNIT = 15;
+    static final int UNITS_PER_DAY = 24 * 60 / MINUTES_PER_UNIT;
+    static final int APPOINTMENT_MINUTES = 60;
+    private static final int WORDS_PER_DAY = (UNITS_PER_DAY + 63) / 64;
+
+    private final AppointmentRepository appointmentRepository;
+    private final long maxAgeNanos;
+
+    // key: doctor id in the high 32 bits, epoch day in the low 32 bits
+    private final ConcurrentHashMap<Long, Day> days = new ConcurrentHashMap<>();
+
+    // bumped by every occupy/release so a load can tell it raced with a write
+    private final AtomicLong writes = new AtomicLong();
+
+    // epoch day of the last sweep of past and expired days
+    private volatile long sweptDay;
+
+    public SlotOccupancyIndex(AppointmentRepository appointmentRepository,
+            @Value("${appointment.occupancy.max-age-seconds:60}") long maxAgeSeconds) {
+        this.appointmentRepository = appointmentRepository;
+        this.maxAgeNanos = maxAgeSeconds * 1_000_000_000L;
+    }
+
+    /**
+     * Checks whether the half-open minute range [startMinute, endMinute) of the
+     * given day has no booked appointment overlapping it.
+     */
+    public boolean isFree(Long doctorId, LocalDate date, int startMinute, int endMinute) {
+        AtomicLongArray day = day(doctorId, date);
+        int from = startMinute / MINUTES_PER_UNIT;
+        int to = Math.min(UNITS_PER_DAY, (endMinute + MINUTES_PER_UNIT - 1) / MINUTES_PER_UNIT);
+        for (int unit = from; unit < to; unit++) {
+            if ((day.get(unit >>> 6) & (1L << unit)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks the hour starting at the given time as booked. Days that have not
+     * been loaded yet are left alone; they pick the appointment up from the
+     * database when first read.
+     */
+    public void occupy(Long doctorId, LocalDateTime start) {
+        // counted first, so a load racing this booking sees the change and unpublishes its copy
+        writes.incrementAndGet();
+        days.computeIfPresent(key(doctorId, start.toLocalDate()), (k, day) -> {
+            mark(day.bits, start);
+            return day;
+        });
+    }
+
+    /**
+     * Drops the cached day so it is rebuilt from the database on next read.
+     * Clearing bits in place is unsafe when legacy appointments overlap. Also
+     * called when a slot this index showed as free turned out to be taken.
+     */
+    public void release(Long doctorId, LocalDateTime start) {
+        writes.incrementAndGet();
+        days.remove(key(doctorId, start.toLocalDate()));
+    }
+
+    /**
+     * Forgets every cached day of a doctor, e.g. after the doctor is deleted.
+     */
+    public void evict(Long doctorId) {
+        days.keySet().removeIf(k -> (k >>> 32) == doctorId);
+    }
+
+    /**
+     * Loads every missing day in [from, to] for the given doctors with a single
+     * range query. Past days are skipped, as they are never cached.
+     */
+    public void prime(Collection<Long> doctorIds, LocalDate from, LocalDate to) {
+        SortedSet<LocalDate> dates = new TreeSet<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            dates.add(date);
+        }
+        prime(doctorIds, dates);
+    }
+
+    /**
+     * Loads the given days of the given doctors with a single range query over
+     * their span; only the listed days are cached, however far apart they are.
+     * Past days are skipped, as they are never cached.
+     */
+    public void prime(Collection<Long> doctorIds, SortedSet<LocalDate> dates) {
+        SortedSet<LocalDate> upcoming = dates.tailSet(LocalDate.now());
+        if (upcoming.isEmpty()) {
+            return;
+        }
+        Map<Long, Day> loaded = new HashMap<>();
+        for (Long doctorId : doctorIds) {
+            for (LocalDate date : upcoming) {
+                long key = key(doctorId, date);
+                if (fresh(days.get(key)) == null) {
+                    loaded.put(key, new Day(new AtomicLongArray(WORDS_PER_DAY)));
+                }
+            }
+        }
+        if (loaded.isEmpty()) {
+            return;
+        }
+
+        long writesBefore = writes.get();
+        List<Object[]> booked = appointmentRepository.findBookedTimesForDoctors(
+                doctorIds, upcoming.first().atStartOfDay(), upcoming.last().plusDays(1).atStartOfDay());
+        for (Object[] row : booked) {
+            LocalDateTime start = (LocalDateTime) row[1];
+            Day day = loaded.get(key((Long) row[0], start.toLocalDate()));
+            if (day != null) {
+                mark(day.bits, start);
+            }
+        }
+
+        List<Long> inserted = new ArrayList<>();
+        loaded.forEach((key, day) -> {
+            Day previous = days.get(key);
+            if (previous == null ? days.putIfAbsent(key, day) == null
+                    : fresh(previous) == null && days.replace(key, previous, day)) {
+                inserted.add(key);
+            }
+        });
+        // A booking or cancellation that ran before our put may have missed
+        // these days; drop them again and let the next read reload them.
+        if (writes.get() != writesBefore) {
+            inserted.forEach(key -> days.remove(key, loaded.get(key)));
+        }
+    }
+
+    private AtomicLongArray day(Long doctorId, LocalDate date) {
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today)) {
+            // past days can no longer be booked; don't let them pile up in memory
+            return load(doctorId, date);
+        }
+        sweep(today);
+        long key = key(doctorId, date);
+        Day cached = days.get(key);
+        if (fresh(cached) != null) {
+            return cached.bits;
+        }
+        if (cached != null) {
+            days.remove(key, cached);
+        }
+        // Loaded outside computeIfAbsent(), whose bin lock would block other days hashing
+        // to the same bin for the whole query. Concurrent first reads of a day may each
+        // query it; the first to publish wins.
+        long writesBefore = writes.get();
+        Day loaded = new Day(load(doctorId, date));
+        Day existing = days.putIfAbsent(key, loaded);
+        if (existing != null) {
+            return existing.bits;
+        }
+        if (writes.get() != writesBefore) {
+            // a booking or cancellation may have missed the copy we just published
+            days.remove(key, loaded);
+        }
+        return loaded.bits;
+    }
+
+    private Day fresh(Day day) {
+        return day != null && System.nanoTime() - day.loadedAt <= maxAgeNanos ? day : null;
+    }
+
+    // once per day, drops the days that have passed and the expired ones nobody re-read
+    private void sweep(LocalDate today) {
+        long epochDay = today.toEpochDay();
+        if (sweptDay == epochDay) {
+            return;
+        }
+        sweptDay = epochDay;
+        days.entrySet().removeIf(entry -> (entry.getKey() & 0xFFFFFFFFL) < epochDay || fresh(entry.getValue()) == null);
+    }
+
+    private AtomicLongArray load(Long doctorId, LocalDate date) {
+        AtomicLongArray day = new AtomicLongArray(WORDS_PER_DAY);
+        List<LocalDateTime> booked = appointmentRepository.findBookedTimes(
+                doctorId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        for (LocalDateTime start : booked) {
+            mark(day, start);
+        }
+        return day;
+    }
+
+    private static void mark(AtomicLongArray day, LocalDateTime start) {
+        int from = (start.getHour() * 60 + start.getMinute()) / MINUTES_PER_UNIT;
+        int to = Math.min(UNITS_PER_DAY, from + APPOINTMENT_MINUTES / MINUTES_PER_UNIT);
+        for (int unit = from; unit < to; unit++) {
+            long bit = 1L << unit;
+            day.getAndAccumulate(unit >>> 6, bit, (word, b) -> word | b);
+        }
+    }
+
+    private static long key(Long doctorId, LocalDate date) {
+        return (doctorId << 32) | (date.toEpochDay() & 0xFFFFFFFFL);
+    }
+
+    private static final class Day {
+        final long loadedAt = System.nanoTime();
+        final AtomicLongArray bits;
+
+        Day(AtomicLongArray bits) {
+            this.bits = bits;
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package com.project.back_end.services;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.crypto.SecretKey;
 
 import org.slf4j.Logger;
@@ -8,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.project.back_end.DTO.AuthenticatedUser;
 import com.project.back_end.models.Admin;
 import com.project.back_end.models.Doctor;
 import com.project.back_end.models.Patient;
@@ -15,6 +23,11 @@ import com.project.back_end.repo.AdminRepository;
 import com.project.back_end.repo.DoctorRepository;
 import com.project.back_end.repo.PatientRepository;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -28,40 +41,99 @@ public class TokenService {
     // Added a logger for maintainability and clarity
     private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private static final String ROLE_CLAIM = "role";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    // Verified claims by SHA-256 digest of the token, kept until the token expires
+    private final ConcurrentHashMap<String, VerifiedClaims> claimsCache = new ConcurrentHashMap<>();
+    private final int claimsCacheMaxSize;
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
 
     private final AdminRepository adminRepository;
     private final DoctorRepository doctorRepository;
     private final PatientRepository patientRepository;
+    private final MeterRegistry meterRegistry;
 
-    public TokenService(AdminRepository adminRepository, DoctorRepository doctorRepository, PatientRepository patientRepository) {
+    public TokenService(AdminRepository adminRepository, DoctorRepository doctorRepository, PatientRepository patientRepository,
+            MeterRegistry meterRegistry, @Value("${jwt.secret}") String secret,
+            @Value("${jwt.claims-cache.max-size:10000}") int claimsCacheMaxSize) {
         this.adminRepository = adminRepository;
         this.doctorRepository = doctorRepository;
         this.patientRepository = patientRepository;
-    }
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.claimsCacheMaxSize = claimsCacheMaxSize;
+        this.meterRegistry = meterRegistry;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        FunctionCounter.builder("auth.token.claims.cache.hits", cacheHits, AtomicLong::get)
+                .description("Token lookups answered from the verified claims cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.token.claims.cache.misses", cacheMisses, AtomicLong::get)
+                .description("Token lookups that needed a signature check")
+                .register(meterRegistry);
+        Gauge.builder("auth.token.claims.cache.size", claimsCache, ConcurrentHashMap::size)
+                .description("Verified tokens currently cached")
+                .register(meterRegistry);
     }
 
     public String generateToken(String email) {
+        return generateToken(email, null);
+    }
+
+    /**
+     * Issues a token for the given user. With a role, the token names the
+     * table its subject lives in, so it can be resolved before the handler
+     * says which role it needs.
+     */
+    public String generateToken(String email, String role) {
         return Jwts.builder()
                 .subject(email)
+                .claim(ROLE_CLAIM, role)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + 1000L * 60 * 60 * 24 * 7))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
-    } 
+    }
 
+    /**
+     * Returns the subject of a valid token, or null. Tokens verified before are
+     * answered from the claims cache without another signature check.
+     */
     public String extractEmail(String token) {
+        VerifiedClaims claims = verify(token);
+        return claims == null ? null : claims.email;
+    }
+
+    /** @return The role a valid token was issued for, or null if invalid or issued without one */
+    public String extractRole(String token) {
+        VerifiedClaims claims = verify(token);
+        return claims == null ? null : claims.role;
+    }
+
+    private VerifiedClaims verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        String key = digest(token);
+        VerifiedClaims cached = claimsCache.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > System.currentTimeMillis()) {
+                cacheHits.incrementAndGet();
+                return cached;
+            }
+            claimsCache.remove(key, cached);
+        }
+        cacheMisses.incrementAndGet();
+
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getSubject();
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            VerifiedClaims verified = new VerifiedClaims(claims.getSubject(), claims.get(ROLE_CLAIM, String.class),
+                    claims.getExpiration() == null ? 0 : claims.getExpiration().getTime());
+            cache(key, verified);
+            return verified;
         } catch (ExpiredJwtException e) {
             logger.error("Token has expired: {}", e.getMessage());
         } catch (SignatureException e) {
@@ -74,36 +146,131 @@ public class TokenService {
         return null;
     }
 
+    /** @return Number of extractEmail calls answered from the claims cache */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /** @return Number of extractEmail calls that had to verify the signature */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /** @return Number of tokens currently held in the claims cache */
+    public int getCacheSize() {
+        return claimsCache.size();
+    }
+
+    private void cache(String key, VerifiedClaims claims) {
+        if (claims.email == null || claims.expiresAt == 0) {
+            return;
+        }
+        if (claimsCache.size() >= claimsCacheMaxSize) {
+            // full: drop expired tokens, then arbitrary live ones until a tenth of the cache is free,
+            // so the scan runs once per batch of new tokens; dropped tokens are re-verified on next use
+            long now = System.currentTimeMillis();
+            int target = claimsCacheMaxSize - Math.max(1, claimsCacheMaxSize / 10);
+            Iterator<VerifiedClaims> entries = claimsCache.values().iterator();
+            while (entries.hasNext()) {
+                VerifiedClaims entry = entries.next();
+                if (entry.expiresAt <= now || claimsCache.size() > target) {
+                    entries.remove();
+                }
+            }
+        }
+        claimsCache.put(key, claims);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class VerifiedClaims {
+        final String email;
+        final String role;
+        final long expiresAt;
+
+        VerifiedClaims(String email, String role, long expiresAt) {
+            this.email = email;
+            this.role = role;
+            this.expiresAt = expiresAt;
+        }
+    }
+
     public boolean validateToken(String token, String userRole) {
-        String extractedEmail = extractEmail(token);
-        
-        if (extractedEmail == null) {
+        return authenticate(token, userRole) != null;
+    }
+
+    /**
+     * Verifies the token and looks its subject up in the table of the given
+     * role, with one query. Per request, go through {@link RequestPrincipal}
+     * instead, which remembers the answer.
+     * @return The user, or null if the token is invalid, was issued for
+     *         another role, or names no existing user
+     */
+    public AuthenticatedUser authenticate(String token, String userRole) {
+        VerifiedClaims claims = verify(token);
+
+        if (claims == null || claims.email == null) {
             logger.warn("Token validation failed: No email could be extracted.");
-            return false;
+            countValidation(userRole, "invalid_token");
+            return null;
+        }
+        String extractedEmail = claims.email;
+        if (claims.role != null && !claims.role.equalsIgnoreCase(userRole)) {
+            logger.warn("Token of {} was issued for role {}, not {}", extractedEmail, claims.role, userRole);
+            countValidation(userRole, "wrong_role");
+            return null;
         }
 
-        boolean userExists = false;
+        AuthenticatedUser user = null;
 
         // Using a switch or clean if-else to check database presence
         switch (userRole.toLowerCase()) {
             case "admin":
-                userExists = adminRepository.findByUsername(extractedEmail) != null;
+                Admin admin = adminRepository.findByUsername(extractedEmail);
+                if (admin != null) {
+                    user = new AuthenticatedUser("admin", admin.getId(), extractedEmail, admin);
+                }
                 break;
             case "doctor":
-                userExists = doctorRepository.findByEmail(extractedEmail) != null;
+                Doctor doctor = doctorRepository.findByEmail(extractedEmail);
+                if (doctor != null) {
+                    user = new AuthenticatedUser("doctor", doctor.getId(), extractedEmail, doctor);
+                }
                 break;
             case "patient":
-                userExists = patientRepository.findByEmail(extractedEmail) != null;
+                Patient patient = patientRepository.findByEmail(extractedEmail);
+                if (patient != null) {
+                    user = new AuthenticatedUser("patient", patient.getId(), extractedEmail, patient);
+                }
                 break;
             default:
                 logger.warn("Unknown user role provided: {}", userRole);
-                return false;
+                countValidation(userRole, "unknown_role");
+                return null;
         }
 
-        if (!userExists) {
+        if (user == null) {
             logger.warn("User with email {} and role {} not found in database.", extractedEmail, userRole);
         }
 
-        return userExists;
+        countValidation(userRole, user != null ? "valid" : "unknown_user");
+        return user;
+    }
+
+    // Role comes from the request path, so anything but the three known roles is folded into one tag value
+    private void countValidation(String userRole, String outcome) {
+        String role = userRole == null ? "other" : userRole.toLowerCase();
+        if (!role.equals("admin") && !role.equals("doctor") && !role.equals("patient")) {
+            role = "other";
+        }
+        meterRegistry.counter("auth.token.validations", "role", role, "outcome", outcome).increment();
     }
 }
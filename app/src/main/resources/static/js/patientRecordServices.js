@@ -1,5 +1,6 @@
 // patientRecordServices.js
 import { getPatientAppointments } from "./services/patientServices.js";
+import { getPrescriptions } from "./services/prescriptionServices.js";
 import { createPatientRecordRow } from './components/patientRecordRow.js';
 
 const tableBody = document.getElementById("patientTableBody");
@@ -21,14 +22,24 @@ async function initializePage() {
     const filteredAppointments = appointmentData.filter(app =>
       app.doctorId == doctorId);
     console.log(filteredAppointments)
-    renderAppointments(filteredAppointments);
+    renderAppointments(filteredAppointments, await loadPrescriptions(filteredAppointments));
   } catch (error) {
     console.error("Error loading appointments:", error);
     alert("❌ Failed to load your appointments.");
   }
 }
 
-function renderAppointments(appointments) {
+// One request for the whole table instead of one per row; null keeps every row's view button
+async function loadPrescriptions(appointments) {
+  if (!appointments.length) return null;
+  try {
+    return await getPrescriptions(appointments.map(app => app.id), token);
+  } catch (error) {
+    return null;
+  }
+}
+
+function renderAppointments(appointments, prescriptions) {
   tableBody.innerHTML = "";
 
   const actionTh = document.querySelector("#patientTable thead tr th:last-child");
@@ -42,7 +53,8 @@ function renderAppointments(appointments) {
   }
 
   appointments.forEach(appointment => {
-    const row = createPatientRecordRow(appointment);
+    const hasPrescription = !prescriptions || Boolean(prescriptions[appointment.id]);
+    const row = createPatientRecordRow(appointment, hasPrescription);
     tableBody.appendChild(row);
   });
 }
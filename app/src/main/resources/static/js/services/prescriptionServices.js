@@ -44,3 +44,25 @@ export async function getPrescription(appointmentId, token) {
     throw error;
   }
 }
+
+// Fetches the prescriptions of many appointments in one request; resolves to { appointmentId: prescription }
+export async function getPrescriptions(appointmentIds, token) {
+  try {
+    const response = await fetch(`${PRESCRITION_API}/batch/${token}?appointmentIds=${appointmentIds.join(",")}`, {
+      method: "GET",
+      headers: {
+        "Content-Type": "application/json"
+      }
+    });
+
+    const result = await response.json();
+    if (!response.ok) {
+      console.error("Failed to fetch prescriptions:", result);
+      throw new Error(result.message || "Unable to fetch prescriptions");
+    }
+    return result.prescriptions;
+  } catch (error) {
+    console.error("Error :: getPrescriptions ::", error);
+    throw error;
+  }
+}
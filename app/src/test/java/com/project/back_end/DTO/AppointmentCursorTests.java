@@ -0,0 +1,88 @@
+package com.project.back_end.DTO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class AppointmentCursorTests {
+
+	private static final LocalDateTime TIME = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+	@Test
+	void encodedCursorRoundTrips() {
+		AppointmentCursor cursor = AppointmentCursor.of(AppointmentCursor.encode(TIME, 42L), 20);
+
+		assertEquals(TIME, cursor.getAfterTime());
+		assertEquals(42L, cursor.getAfterId());
+		assertEquals(20, cursor.getSize());
+		assertEquals(21, cursor.limit().getPageSize());
+	}
+
+	@Test
+	void missingParametersMeanFullListOrFirstPage() {
+		assertNull(AppointmentCursor.of(null, null));
+
+		AppointmentCursor first = AppointmentCursor.of("", null);
+		assertEquals(AppointmentCursor.DEFAULT_SIZE, first.getSize());
+		assertEquals(0L, first.getAfterId());
+		assertEquals(LocalDateTime.of(1970, 1, 1, 0, 0), first.getAfterTime());
+		assertEquals(AppointmentCursor.DEFAULT_SIZE, AppointmentCursor.of(null, AppointmentCursor.DEFAULT_SIZE).getSize());
+	}
+
+	@Test
+	void rejectsSizesOutOfRange() {
+		assertThrows(IllegalArgumentException.class, () -> AppointmentCursor.of(null, 0));
+		assertThrows(IllegalArgumentException.class, () -> AppointmentCursor.of(null, AppointmentCursor.MAX_SIZE + 1));
+		assertEquals(1, AppointmentCursor.of(null, 1).getSize());
+		assertEquals(AppointmentCursor.MAX_SIZE, AppointmentCursor.of(null, AppointmentCursor.MAX_SIZE).getSize());
+	}
+
+	@Test
+	void rejectsMalformedCursors() {
+		for (String cursor : List.of("!!!", encoded("2026-03-02T09:00"), encoded("not a time|1"),
+				encoded("2026-03-02T09:00|x"), encoded("|"))) {
+			IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+					() -> AppointmentCursor.of(cursor, 10), cursor);
+			assertEquals("Invalid cursor", e.getMessage());
+		}
+	}
+
+	@Test
+	void trimDetectsTheLastPage() {
+		AppointmentCursor cursor = AppointmentCursor.of(null, 2);
+
+		List<AppointmentDTO> full = rows(2);
+		assertNull(cursor.trim(full));
+		assertEquals(2, full.size());
+		assertNull(cursor.trim(rows(1)));
+		assertNull(cursor.trim(rows(0)));
+
+		List<AppointmentDTO> more = rows(3);
+		String next = cursor.trim(more);
+		assertEquals(List.of(1L, 2L), more.stream().map(AppointmentDTO::getId).toList());
+		AppointmentCursor following = AppointmentCursor.of(next, 2);
+		assertEquals(TIME.plusHours(2), following.getAfterTime());
+		assertEquals(2L, following.getAfterId());
+	}
+
+	private static String encoded(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<AppointmentDTO> rows(int count) {
+		List<AppointmentDTO> rows = new ArrayList<>();
+		for (long id = 1; id <= count; id++) {
+			rows.add(new AppointmentDTO(id, 7L, "Dr. A", 9L, "Pat", "p@example.com", "555", "1 Main Street",
+					TIME.plusHours(id), 0));
+		}
+		return rows;
+	}
+}
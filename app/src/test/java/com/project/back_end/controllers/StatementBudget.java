@@ -0,0 +1,28 @@
+package com.project.back_end.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.project.back_end.config.SqlStatementHeaderAdvice;
+
+/**
+ * MockMvc matchers on the per-request SQL statement count reported in the
+ * {@value SqlStatementHeaderAdvice#HEADER} header (test profile only).
+ */
+final class StatementBudget {
+
+	private StatementBudget() {}
+
+	/** Fails unless the request issued at most {@code max} SQL statements. */
+	static ResultMatcher atMost(int max) {
+		return result -> {
+			String header = result.getResponse().getHeader(SqlStatementHeaderAdvice.HEADER);
+			assertNotNull(header, "missing " + SqlStatementHeaderAdvice.HEADER + " header");
+			int count = Integer.parseInt(header);
+			assertTrue(count <= max, result.getRequest().getRequestURI() + " issued " + count
+					+ " SQL statements, budget is " + max);
+		};
+	}
+}
@@ -0,0 +1,243 @@
+package com.project.back_end.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.project.back_end.models.Admin;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.TimeSlot;
+import com.project.back_end.repo.AdminRepository;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.services.DoctorDirectory;
+import com.project.back_end.services.TokenService;
+
+/**
+ * Statement budgets for the JPA-backed endpoints; a failure here usually
+ * means a lazy association or a per-row lookup crept into a hot path.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatementBudgetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Autowired
+	private AdminRepository adminRepository;
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Autowired
+	private PatientRepository patientRepository;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private DoctorDirectory doctorDirectory;
+
+	private Doctor doctor;
+	private Patient patient;
+	private LocalDate day;
+
+	@BeforeEach
+	void seed() {
+		doctor = doctorRepository.findByEmail("dr.budget@example.com");
+		patient = patientRepository.findByEmail("budget@example.com");
+		day = LocalDate.now().plusDays(2);
+		if (doctor != null) {
+			return;
+		}
+		adminRepository.save(new Admin("budgetadmin", "secret123"));
+		doctor = doctorRepository.save(new Doctor(null, "Dr. Budget", "Dermatologist", "dr.budget@example.com",
+				"secret123", "5550002222", new ArrayList<>(List.of(TimeSlot.parse("09:00-10:00"),
+						TimeSlot.parse("14:00-15:00")))));
+		patient = patientRepository.save(new Patient(null, "Budget Patient", "budget@example.com", "secret123",
+				"5550003333", "2 Test Street"));
+		appointmentRepository.save(new Appointment(null, doctor, patient, day.atTime(9, 0), 0));
+		appointmentRepository.save(new Appointment(null, doctor, patient, day.atTime(14, 0), 0));
+	}
+
+	@Test
+	void adminLogin() throws Exception {
+		mockMvc.perform(post("/admin").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"budgetadmin\",\"password\":\"secret123\"}"))
+				.andExpect(status().isOk())
+				.andExpect(StatementBudget.atMost(1));
+	}
+
+	@Test
+	void doctorListAndFilter() throws Exception {
+		mockMvc.perform(get("/doctor")).andExpect(status().isOk()).andExpect(StatementBudget.atMost(1));
+		mockMvc.perform(get("/doctor/filter/budget/PM/null")).andExpect(status().isOk())
+				.andExpect(StatementBudget.atMost(1));
+		mockMvc.perform(get("/doctor/filter/budget/AM/Dermatologist").param("page", "0").param("size", "10"))
+				.andExpect(status().isOk())
+				.andExpect(StatementBudget.atMost(3));
+	}
+
+	@Test
+	void doctorTypeahead() throws Exception {
+		// the doctor was saved straight through the repository
+		doctorDirectory.refresh();
+		mockMvc.perform(get("/doctor/typeahead").param("q", "budgte"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.doctors[0].name").value("Dr. Budget"))
+				.andExpect(StatementBudget.atMost(0));
+	}
+
+	@Test
+	void doctorAvailability() throws Exception {
+		String token = tokenService.generateToken(patient.getEmail());
+		mockMvc.perform(get("/doctor/availability/patient/{id}/{date}/{token}", doctor.getId(), day, token))
+				.andExpect(status().isOk())
+				.andExpect(StatementBudget.atMost(3));
+	}
+
+	@Test
+	void doctorDayAppointments() throws Exception {
+		String token = tokenService.generateToken(doctor.getEmail());
+		mockMvc.perform(get("/appointments/{date}/null/{token}", day, token))
+				.andExpect(status().isOk())
+				.andExpect(StatementBudget.atMost(2));
+	}
+
+	@Test
+	void adminReports() throws Exception {
+		String token = tokenService.generateToken("budgetadmin");
+		mockMvc.perform(get("/admin/reports/daily/{date}/{token}", day, token))
+				.andExpect(status().isOk())
+				.andExpect(StatementBudget.atMost(2));
+		mockMvc.perform(get("/admin/reports/top-doctors/{year}/{token}", day.getYear(), token)
+				.param("month", String.valueOf(day.getMonthValue())))
+				.andExpect(status().isOk())
+				.andExpect(StatementBudget.atMost(2));
+	}
+
+	@Test
+	void doctorBulkImport() throws Exception {
+		String token = tokenService.generateToken("budgetadmin");
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < 40; i++) {
+			json.append(i == 0 ? "" : ",").append("{\"name\":\"Dr. Import ").append(i)
+					.append("\",\"specialty\":\"Cardiologist\",\"email\":\"import").append(i)
+					.append("@example.com\",\"password\":\"secret123\",\"phone\":\"5550004444\",")
+					.append("\"availableTimes\":[\"09:00-10:00\",\"10:00-11:00\"]}");
+		}
+		json.append(",{\"name\":\"Dr. Budget\",\"specialty\":\"Dermatologist\",\"email\":\"dr.budget@example.com\",")
+				.append("\"password\":\"secret123\",\"phone\":\"5550002222\"}]");
+		// 40 doctors and 80 slots: inserts go out as JDBC batches, not one statement per row
+		mockMvc.perform(post("/doctor/import/{token}", token).contentType(MediaType.APPLICATION_JSON)
+				.content(json.toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(40))
+				.andExpect(jsonPath("$.errors[0].row").value(41))
+				.andExpect(StatementBudget.atMost(8));
+	}
+
+	@Test
+	void bearerTokenResolvesOnce() throws Exception {
+		String token = tokenService.generateToken(patient.getEmail(), "patient");
+		// one patient lookup for the filter, the argument and the service together
+		mockMvc.perform(get("/patient/filter/null/budget").header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk())
+				.andExpect(StatementBudget.atMost(2));
+		mockMvc.perform(get("/patient").header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.patient.email").value(patient.getEmail()))
+				.andExpect(StatementBudget.atMost(1));
+		mockMvc.perform(get("/patient").header("Authorization", "Bearer " + tokenService.generateToken(
+				doctor.getEmail(), "doctor")))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/patient").header("Authorization", "Bearer not-a-token"))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void appointmentSeries() throws Exception {
+		// a doctor and patient of its own, so the history sizes do not depend on what other tests booked
+		Doctor seriesDoctor = doctorRepository.save(new Doctor(null, "Dr. Series", "Dermatologist",
+				"dr.series@example.com", "secret123", "5550002223", new ArrayList<>(List.of(TimeSlot.parse("14:00-15:00")))));
+		Patient seriesPatient = patientRepository.save(new Patient(null, "Series Patient", "series@example.com",
+				"secret123", "5550003334", "3 Test Street"));
+		doctorDirectory.refresh();
+		String token = tokenService.generateToken(seriesPatient.getEmail());
+		String series = "{\"doctorId\":" + seriesDoctor.getId() + ",\"start\":\"" + day.plusDays(1).atTime(14, 0)
+				+ "\",\"occurrences\":10,\"intervalDays\":1}";
+		mockMvc.perform(get("/patient/filter/future/null/{token}", token))
+				.andExpect(jsonPath("$.appointments.length()").value(0));
+		// 10 days checked with one range query and inserted as one batch; the rollup takes one update per month touched
+		mockMvc.perform(post("/appointments/series/{token}", token).contentType(MediaType.APPLICATION_JSON)
+				.content(series))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.booked").value(10))
+				.andExpect(StatementBudget.atMost(7));
+		mockMvc.perform(post("/appointments/series/{token}", token).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"doctorId\":" + seriesDoctor.getId() + ",\"appointmentTimes\":[\"" + day.plusDays(2).atTime(14, 0)
+						+ "\",\"" + day.plusDays(1).atTime(14, 0) + "\"]}"))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.booked").value(0))
+				.andExpect(jsonPath("$.occurrences[1].status").value("conflict"));
+		mockMvc.perform(post("/appointments/series/{token}", token).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"doctorId\":" + seriesDoctor.getId() + ",\"start\":\"" + day.atTime(14, 0)
+						+ "\",\"occurrences\":52,\"intervalDays\":100000000}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/appointments/series/{token}", token).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"doctorId\":" + seriesDoctor.getId() + ",\"appointmentTimes\":[\"" + day.atTime(14, 0)
+						+ "\",null]}"))
+				.andExpect(status().isBadRequest());
+		// booking evicted the patient's cached history
+		mockMvc.perform(get("/patient/filter/future/null/{token}", token))
+				.andExpect(jsonPath("$.appointments.length()").value(10));
+	}
+
+	@Test
+	void patientAppointments() throws Exception {
+		String token = tokenService.generateToken(patient.getEmail());
+		mockMvc.perform(get("/patient/{id}/patient/{token}", patient.getId(), token))
+				.andExpect(status().isOk())
+				.andExpect(StatementBudget.atMost(2));
+		mockMvc.perform(get("/patient/filter/future/budget/{token}", token).param("size", "1"))
+				.andExpect(status().isOk())
+				.andExpect(StatementBudget.atMost(2));
+		mockMvc.perform(get("/patient/filter/future/BUDG/{token}", token).param("size", "1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.appointments[0].doctorName").value("Dr. Budget"))
+				.andExpect(jsonPath("$.nextCursor").isNotEmpty())
+				.andExpect(StatementBudget.atMost(2));
+		mockMvc.perform(get("/patient/filter/future/null/{token}", token))
+				.andExpect(status().isOk())
+				.andExpect(StatementBudget.atMost(2));
+		// the history is cached now, so other unpaged filters only cost the patient lookup
+		mockMvc.perform(get("/patient/filter/future/BUDG/{token}", token))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.appointments[0].doctorName").value("Dr. Budget"))
+				.andExpect(StatementBudget.atMost(1));
+		mockMvc.perform(get("/patient/filter/null/nobody/{token}", token))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.appointments").isEmpty())
+				.andExpect(StatementBudget.atMost(1));
+	}
+}
@@ -0,0 +1,326 @@
+package com.project.back_end.perf;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.models.Admin;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.TimeSlot;
+import com.project.back_end.repo.AdminRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.services.DoctorDirectory;
+
+/**
+ * In-JVM load driver for the perf profile. Seeds a synthetic clinic, then has
+ * {@code perf.driver.concurrency} virtual users replay the patient journey over
+ * HTTP against the running server: log in, filter doctors, check availability,
+ * book, list appointments, have the doctor write and read a prescription, and
+ * cancel. After the warm-up, every successful (2xx) call's latency is recorded
+ * per endpoint and reported as throughput and p50/p99/p999. Booking conflicts
+ * (409) are expected under load and counted in their own column; any other
+ * non-2xx response counts as an error.
+ */
+@Component
+@Profile("perf")
+public class LoadDriver implements ApplicationRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+	private static final String PASSWORD = "secret123";
+	private static final String[] SPECIALTIES = {"Cardiologist", "Dermatologist", "Neurologist", "Pediatrician",
+			"Orthopedic", "Gynecologist", "Psychiatrist", "Dentist"};
+	private static final String[] NAMES = {"Emily", "Mark", "Sarah", "David", "Anna", "James", "Laura", "Robert"};
+	private static final String[] TIMES = {"AM", "PM", "null"};
+
+	private final AdminRepository adminRepository;
+	private final DoctorRepository doctorRepository;
+	private final PatientRepository patientRepository;
+	private final DoctorDirectory doctorDirectory;
+	private final ObjectMapper objectMapper;
+	private final Environment environment;
+	private final ConfigurableApplicationContext context;
+
+	@Value("${perf.driver.concurrency:16}")
+	private int concurrency;
+
+	@Value("${perf.driver.warmup-seconds:10}")
+	private int warmupSeconds;
+
+	@Value("${perf.driver.duration-seconds:30}")
+	private int durationSeconds;
+
+	@Value("${perf.driver.doctors:200}")
+	private int doctorCount;
+
+	@Value("${perf.driver.patients:2000}")
+	private int patientCount;
+
+	@Value("${perf.driver.exit-on-finish:true}")
+	private boolean exitOnFinish;
+
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+	private String baseUrl;
+	private List<Doctor> doctors;
+	private List<Patient> patients;
+
+	public LoadDriver(AdminRepository adminRepository, DoctorRepository doctorRepository,
+			PatientRepository patientRepository, DoctorDirectory doctorDirectory, ObjectMapper objectMapper,
+			Environment environment, ConfigurableApplicationContext context) {
+		this.adminRepository = adminRepository;
+		this.doctorRepository = doctorRepository;
+		this.patientRepository = patientRepository;
+		this.doctorDirectory = doctorDirectory;
+		this.objectMapper = objectMapper;
+		this.environment = environment;
+		this.context = context;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		baseUrl = "http://localhost:" + environment.getProperty("local.server.port");
+		seed();
+		logger.warn("Load driver: {} users, {}s warm-up, {}s measured, {} doctors, {} patients", concurrency,
+				warmupSeconds, durationSeconds, doctorCount, patientCount);
+
+		long start = System.nanoTime();
+		long measureFrom = start + warmupSeconds * 1_000_000_000L;
+		long stopAt = measureFrom + durationSeconds * 1_000_000_000L;
+		ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+		List<Future<Map<String, Samples>>> users = new ArrayList<>();
+		for (int user = 0; user < concurrency; user++) {
+			int id = user;
+			users.add(pool.submit(() -> runUser(id, measureFrom, stopAt)));
+		}
+		Map<String, Samples> merged = new TreeMap<>();
+		for (Future<Map<String, Samples>> user : users) {
+			user.get().forEach((endpoint, samples) -> merged.computeIfAbsent(endpoint, e -> new Samples()).addAll(samples));
+		}
+		pool.shutdown();
+		report(merged);
+
+		if (exitOnFinish) {
+			System.exit(SpringApplication.exit(context, () -> 0));
+		}
+	}
+
+	private void seed() {
+		adminRepository.save(new Admin("perfadmin", PASSWORD));
+		List<Doctor> newDoctors = new ArrayList<>();
+		for (int i = 0; i < doctorCount; i++) {
+			List<TimeSlot> slots = new ArrayList<>();
+			for (int hour = 9; hour < 17; hour++) {
+				slots.add(new TimeSlot(hour * 60, hour * 60 + 60));
+			}
+			newDoctors.add(new Doctor(null, "Dr. " + NAMES[i % NAMES.length] + " Perf" + i,
+					SPECIALTIES[i % SPECIALTIES.length], "perf.doctor" + i + "@example.com", PASSWORD,
+					String.format("444%07d", i), slots));
+		}
+		doctors = doctorRepository.saveAll(newDoctors);
+		List<Patient> newPatients = new ArrayList<>();
+		for (int i = 0; i < patientCount; i++) {
+			newPatients.add(new Patient(null, "Perf Patient " + i, "perf.patient" + i + "@example.com", PASSWORD,
+					String.format("333%07d", i), i + " Load Street"));
+		}
+		patients = patientRepository.saveAll(newPatients);
+		doctorDirectory.refresh();
+	}
+
+	private Map<String, Samples> runUser(int user, long measureFrom, long stopAt) {
+		Map<String, Samples> samples = new TreeMap<>();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int iteration = 0; System.nanoTime() < stopAt; iteration++) {
+			Patient patient = patients.get((user + iteration * concurrency) % patients.size());
+			Doctor doctor = doctors.get(random.nextInt(doctors.size()));
+			Call call = new Call(samples, measureFrom, stopAt);
+			try {
+				runJourney(call, random, patient, doctor);
+			} catch (Exception e) {
+				call.samples("journey").errors++;
+				logger.debug("Journey failed", e);
+			}
+		}
+		return samples;
+	}
+
+	private void runJourney(Call call, ThreadLocalRandom random, Patient patient, Doctor doctor) throws Exception {
+		call.send("POST /admin", post("/admin", Map.of("username", "perfadmin", "password", PASSWORD)));
+		String patientToken = call.send("POST /patient/login",
+				post("/patient/login", Map.of("email", patient.getEmail(), "password", PASSWORD))).path("token").asText();
+		String doctorToken = call.send("POST /doctor/login",
+				post("/doctor/login", Map.of("email", doctor.getEmail(), "password", PASSWORD))).path("token").asText();
+
+		call.send("GET /doctor/filter/{name}/{time}/{speciality}", get("/doctor/filter/" + NAMES[random.nextInt(NAMES.length)]
+				+ "/" + TIMES[random.nextInt(TIMES.length)] + "/" + SPECIALTIES[random.nextInt(SPECIALTIES.length)]));
+
+		LocalDate date = LocalDate.now().plusDays(1 + random.nextInt(60));
+		JsonNode free = call.send("GET /doctor/availability/{user}/{doctorId}/{date}/{token}",
+				get("/doctor/availability/patient/" + doctor.getId() + "/" + date + "/" + patientToken)).path("message");
+		if (free.isEmpty()) {
+			return;
+		}
+		String start = free.get(random.nextInt(free.size())).asText().split("-")[0];
+		String appointmentTime = date + "T" + start + ":00";
+		call.send("POST /appointments/{token}", post("/appointments/" + patientToken, Map.of(
+				"doctor", Map.of("id", doctor.getId()),
+				"patient", Map.of("id", patient.getId()),
+				"appointmentTime", appointmentTime,
+				"status", 0)), true);
+
+		Long appointmentId = null;
+		for (JsonNode appointment : call.send("GET /patient/{id}/{user}/{token}",
+				get("/patient/" + patient.getId() + "/patient/" + patientToken)).path("appointments")) {
+			if (appointment.path("doctorId").asLong() == doctor.getId()
+					&& appointment.path("appointmentTime").asText().startsWith(appointmentTime.substring(0, 16))) {
+				appointmentId = appointment.path("id").asLong();
+			}
+		}
+		if (appointmentId == null) {
+			return;
+		}
+
+		call.send("POST /prescription/{token}", post("/prescription/" + doctorToken, Map.of(
+				"patientName", patient.getName(),
+				"appointmentId", appointmentId,
+				"medication", "Paracetamol",
+				"dosage", "500mg",
+				"doctorNotes", "Load test")));
+		call.send("GET /prescription/{appointmentId}/{token}", get("/prescription/" + appointmentId + "/" + doctorToken));
+		call.send("GET /prescription/batch/{token}", get("/prescription/batch/" + doctorToken + "?appointmentIds="
+				+ appointmentId + "," + (appointmentId - 1)));
+		call.send("DELETE /appointments/{id}/{token}", HttpRequest.newBuilder(uri("/appointments/" + appointmentId
+				+ "/" + patientToken)).DELETE().build());
+	}
+
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(uri(path)).GET().build();
+	}
+
+	private HttpRequest post(String path, Object body) throws Exception {
+		return HttpRequest.newBuilder(uri(path)).header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))).build();
+	}
+
+	private URI uri(String path) {
+		return URI.create(baseUrl + path.replace(" ", "%20"));
+	}
+
+	private void report(Map<String, Samples> results) {
+		StringBuilder table = new StringBuilder(String.format("%n%-56s %9s %7s %9s %9s %9s %9s %9s%n", "endpoint",
+				"requests", "errors", "conflicts", "req/s", "p50 ms", "p99 ms", "p999 ms"));
+		long total = 0;
+		for (Samples samples : results.values()) {
+			total += samples.size;
+		}
+		results.forEach((endpoint, samples) -> {
+			samples.sort();
+			table.append(String.format("%-56s %9d %7d %9d %9.1f %9.2f %9.2f %9.2f%n", endpoint, samples.size,
+					samples.errors, samples.conflicts, samples.size / (double) durationSeconds, samples.percentile(0.50),
+					samples.percentile(0.99), samples.percentile(0.999)));
+		});
+		table.append(String.format("%-56s %9d %7s %9s %9.1f%n", "total", total, "", "", total / (double) durationSeconds));
+		logger.warn("Load test results over {}s with {} users:{}", durationSeconds, concurrency, table);
+	}
+
+	/** Sends one user's requests; only those started inside the measurement window are recorded. */
+	private final class Call {
+		private final Map<String, Samples> samples;
+		private final long measureFrom;
+		private final long stopAt;
+
+		Call(Map<String, Samples> samples, long measureFrom, long stopAt) {
+			this.samples = samples;
+			this.measureFrom = measureFrom;
+			this.stopAt = stopAt;
+		}
+
+		Samples samples(String endpoint) {
+			return samples.computeIfAbsent(endpoint, e -> new Samples());
+		}
+
+		JsonNode send(String endpoint, HttpRequest request) throws Exception {
+			return send(endpoint, request, false);
+		}
+
+		/** Records a 2xx response as a sample, a 409 as a conflict when one is expected, and anything else as an error. */
+		JsonNode send(String endpoint, HttpRequest request, boolean conflictExpected) throws Exception {
+			long start = System.nanoTime();
+			HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+			long elapsed = System.nanoTime() - start;
+			if (start >= measureFrom && start < stopAt) {
+				Samples endpointSamples = samples(endpoint);
+				int status = response.statusCode();
+				if (status >= 200 && status < 300) {
+					endpointSamples.add(elapsed);
+				} else if (status == 409 && conflictExpected) {
+					endpointSamples.conflicts++;
+				} else {
+					endpointSamples.errors++;
+				}
+			}
+			return objectMapper.readTree(response.body());
+		}
+	}
+
+	/** Latencies in nanoseconds for one endpoint; not thread-safe, each user keeps its own. */
+	private static final class Samples {
+		long[] values = new long[1024];
+		int size;
+		int errors;
+		int conflicts;
+
+		void add(long nanos) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = nanos;
+		}
+
+		void addAll(Samples other) {
+			for (int i = 0; i < other.size; i++) {
+				add(other.values[i]);
+			}
+			errors += other.errors;
+			conflicts += other.conflicts;
+		}
+
+		void sort() {
+			Arrays.sort(values, 0, size);
+		}
+
+		double percentile(double p) {
+			if (size == 0) {
+				return 0;
+			}
+			int index = Math.max(0, (int) Math.ceil(p * size) - 1);
+			return values[index] / 1_000_000.0;
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.project.back_end.perf;
+
+import org.springframework.boot.SpringApplication;
+
+import com.project.back_end.BackEndApplication;
+
+/**
+ * Boots the application in the perf profile with the test classpath (H2, the
+ * in-memory prescription store and {@link LoadDriver}):
+ * {@code mvn -Pperf test-compile spring-boot:test-run}.
+ */
+public class PerfApplication {
+
+	public static void main(String[] args) {
+		// devtools' restart class loader would hide the test classes
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		// replaces the test profile from config/application.properties, so statement counting stays off
+		System.setProperty("spring.profiles.active", "perf");
+		SpringApplication.from(BackEndApplication::main).run(args);
+	}
+}
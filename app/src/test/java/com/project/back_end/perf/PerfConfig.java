@@ -0,0 +1,102 @@
+package com.project.back_end.perf;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.PrescriptionRepository;
+
+/**
+ * Store stand-ins for the perf profile. JPA runs on H2 (see
+ * application-perf.properties); MongoDB auto-configuration is excluded there
+ * and prescriptions are kept in memory by this proxy instead.
+ */
+@Configuration
+@Profile("perf")
+public class PerfConfig {
+
+	@Bean
+	public PrescriptionRepository prescriptionRepository() {
+		Map<String, Prescription> store = new ConcurrentHashMap<>();
+		Map<Long, List<Prescription>> byAppointment = new ConcurrentHashMap<>();
+		Object proxy = Proxy.newProxyInstance(PrescriptionRepository.class.getClassLoader(),
+				new Class<?>[] {PrescriptionRepository.class}, (self, method, args) -> {
+					switch (method.getName()) {
+						case "save": {
+							Prescription prescription = (Prescription) args[0];
+							if (prescription.getId() == null) {
+								prescription.setId(UUID.randomUUID().toString());
+							}
+							if (store.put(prescription.getId(), prescription) == null) {
+								byAppointment.computeIfAbsent(prescription.getAppointmentId(),
+										id -> new CopyOnWriteArrayList<>()).add(prescription);
+							}
+							return prescription;
+						}
+						case "insert": {
+							// mirrors the unique index on appointmentId
+							Prescription prescription = (Prescription) args[0];
+							if (prescription.getId() == null) {
+								prescription.setId(UUID.randomUUID().toString());
+							}
+							if (byAppointment.putIfAbsent(prescription.getAppointmentId(),
+									new CopyOnWriteArrayList<>(List.of(prescription))) != null) {
+								throw new DuplicateKeyException("appointmentId " + prescription.getAppointmentId());
+							}
+							store.put(prescription.getId(), prescription);
+							return prescription;
+						}
+						case "findById":
+							return Optional.ofNullable(store.get((String) args[0]));
+						case "findByAppointmentId":
+							return new ArrayList<>(byAppointment.getOrDefault((Long) args[0], List.of()));
+						case "findByAppointmentIdIn": {
+							List<Prescription> result = new ArrayList<>();
+							for (Object appointmentId : (Collection<?>) args[0]) {
+								result.addAll(byAppointment.getOrDefault((Long) appointmentId, List.of()));
+							}
+							return result;
+						}
+						case "findAll":
+							return new ArrayList<>(store.values());
+						case "count":
+							return (long) store.size();
+						case "deleteById": {
+							Prescription removed = store.remove((String) args[0]);
+							if (removed != null) {
+								byAppointment.computeIfPresent(removed.getAppointmentId(), (id, list) -> {
+									list.remove(removed);
+									return list.isEmpty() ? null : list;
+								});
+							}
+							return null;
+						}
+						case "deleteAll":
+							store.clear();
+							byAppointment.clear();
+							return null;
+						case "toString":
+							return "in-memory PrescriptionRepository";
+						case "hashCode":
+							return System.identityHashCode(self);
+						case "equals":
+							return self == args[0];
+						default:
+							throw new UnsupportedOperationException("PrescriptionRepository." + method.getName());
+					}
+				});
+		return (PrescriptionRepository) proxy;
+	}
+}
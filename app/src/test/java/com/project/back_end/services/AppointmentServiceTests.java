@@ -0,0 +1,82 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.TimeSlot;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+
+@SpringBootTest
+class AppointmentServiceTests {
+
+	private static final int THREADS = 16;
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Autowired
+	private PatientRepository patientRepository;
+
+	@Test
+	void concurrentBookingsOfOneSlotProduceSingleAppointment() throws Exception {
+		Doctor doctor = doctorRepository.save(new Doctor(null, "Dr. Race Condition", "Cardiologist",
+				"dr.race@example.com", "secret123", "5550001111", new ArrayList<>(List.of(TimeSlot.parse("09:00-10:00")))));
+		List<Patient> patients = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			patients.add(patientRepository.save(new Patient(null, "Patient " + i, "race" + i + "@example.com",
+					"secret123", String.format("555%07d", i), "1 Test Street")));
+		}
+		LocalDateTime slot = LocalDate.now().plusDays(1).atTime(9, 0);
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Integer>> results = new ArrayList<>();
+		for (Patient patient : patients) {
+			results.add(pool.submit(() -> {
+				start.await();
+				return appointmentService.bookAppointment(new Appointment(null, doctor, patient, slot, 0));
+			}));
+		}
+		start.countDown();
+
+		int booked = 0;
+		int conflicts = 0;
+		for (Future<Integer> result : results) {
+			int res = result.get();
+			if (res == 1) {
+				booked++;
+			} else if (res == -1) {
+				conflicts++;
+			}
+		}
+		pool.shutdown();
+
+		assertEquals(1, booked);
+		assertEquals(THREADS - 1, conflicts);
+		assertEquals(1, appointmentRepository.findBookedTimes(doctor.getId(), slot, slot.plusHours(1)).size());
+	}
+
+}
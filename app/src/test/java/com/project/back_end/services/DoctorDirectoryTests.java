@@ -0,0 +1,53 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.TimeSlot;
+import com.project.back_end.repo.DoctorRepository;
+
+@SpringBootTest
+class DoctorDirectoryTests {
+
+	@Autowired
+	private DoctorDirectory doctorDirectory;
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Test
+	void refreshRebuildsTheNameIndex() {
+		assertEquals(List.of(), doctorDirectory.search("quillfeather", 5));
+
+		Doctor doctor = doctorRepository.save(new Doctor(null, "Dr. Quillfeather", "Cardiologist",
+				"dr.q@example.com", "secret123", "5550002222",
+				new ArrayList<>(List.of(TimeSlot.parse("09:00-10:00")))));
+		doctorDirectory.refresh();
+		assertEquals(List.of(doctor.getId()), ids(doctorDirectory.search("quillfeather", 5)));
+
+		doctor.setName("Dr. Thistlewood");
+		doctorRepository.save(doctor);
+		doctorDirectory.refresh();
+		assertEquals(List.of(doctor.getId()), ids(doctorDirectory.search("thistlewood", 5)));
+		assertEquals(List.of(), doctorDirectory.search("quillfeather", 5));
+
+		doctorRepository.deleteById(doctor.getId());
+		doctorDirectory.refresh();
+		assertEquals(List.of(), doctorDirectory.search("thistlewood", 5));
+	}
+
+	private static List<Long> ids(List<Doctor> doctors) {
+		List<Long> ids = new ArrayList<>();
+		for (Doctor doctor : doctors) {
+			ids.add(doctor.getId());
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,72 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.TimeSlot;
+
+@SpringBootTest
+class DoctorImportServiceTests {
+
+	private static final String HEADER = "name,specialty,email,password,phone,availableTimes";
+
+	@Autowired
+	private DoctorImportService doctorImportService;
+
+	@Test
+	void splitsQuotedCommasAndDoubledQuotes() {
+		assertEquals(List.of("Dr. Smith, Jr.", "Cardiologist", "x"),
+				DoctorImportService.splitCsv("\"Dr. Smith, Jr.\", Cardiologist ,x"));
+		assertEquals(List.of("Dr. \"Doc\" Lee", ""), DoctorImportService.splitCsv("\"Dr. \"\"Doc\"\" Lee\","));
+		assertEquals(List.of("\""), DoctorImportService.splitCsv("\"\"\"\""));
+	}
+
+	@Test
+	void rejectsUnterminatedQuotesAndWrongColumnCounts() {
+		assertEquals("Unterminated quoted field", assertThrows(IllegalArgumentException.class,
+				() -> DoctorImportService.splitCsv("\"Dr. Smith,Cardiologist")).getMessage());
+		assertEquals("Expected 6 columns but found 5", assertThrows(IllegalArgumentException.class,
+				() -> DoctorImportService.parseCsvRow("Dr. Smith,Cardiologist,s@example.com,secret123,5550001111"))
+				.getMessage());
+		assertEquals("Expected 6 columns but found 7", assertThrows(IllegalArgumentException.class,
+				() -> DoctorImportService.parseCsvRow("a,b,c,d,e,f,g")).getMessage());
+	}
+
+	@Test
+	void parsesSlotsSeparatedBySemicolons() {
+		Doctor doctor = DoctorImportService.parseCsvRow(
+				"\"Dr. Smith, Jr.\",Cardiologist,s@example.com,secret123,5550001111,09:00-10:00;14:00-15:00");
+
+		assertEquals("Dr. Smith, Jr.", doctor.getName());
+		assertEquals(List.of(TimeSlot.parse("09:00-10:00"), TimeSlot.parse("14:00-15:00")), doctor.getAvailableTimes());
+	}
+
+	@Test
+	void reportsErrorsByFileLineIncludingBlankLines() {
+		String csv = String.join("\n", HEADER,
+				"Dr. Import One,Cardiologist,import.one@example.com,secret123,5550003001,09:00-10:00",
+				"",
+				"\"Dr. Unterminated,Cardiologist,import.two@example.com,secret123,5550003002,",
+				"   ",
+				"Dr. Import Three,Cardiologist,IMPORT.ONE@example.com,secret123,5550003003,",
+				"Dr. Import Four,Cardiologist,import.four@example.com,secret123,5550003004,");
+
+		ResponseEntity<Map<String, Object>> response = doctorImportService.importCsv(csv);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(2, response.getBody().get("imported"));
+		assertEquals(List.of(Map.of("row", 4, "message", "Unterminated quoted field"),
+				Map.of("row", 6, "message", "Duplicate email in this import (first seen in row 2)")),
+				response.getBody().get("errors"));
+	}
+}
@@ -0,0 +1,73 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.back_end.models.Doctor;
+
+class DoctorNameIndexTests {
+
+	private static final Doctor ADAMS = doctor(1, "Dr. Adams", "Dermatologist", "smith.adams@example.com");
+	private static final Doctor SMITH = doctor(2, "Dr. Smith", "Cardiologist", "a.smith@example.com");
+	private static final Doctor SMITHSON = doctor(3, "Dr. Smithson", "Neurologist", "b.smithson@example.com");
+	private static final Doctor SMITHERS = doctor(4, "Smithers Anna", "Pediatrician", "c.smithers@example.com");
+	private static final Doctor OSMOND = doctor(5, "Dr. Osmond", "Oncologist", "osmond@example.com");
+	private static final Doctor JOHNSON = doctor(6, "Dr. Johnson", "Urologist", "johnson@example.com");
+	private static final Doctor JOSE = doctor(7, "Dr. José Ruíz", "Orthopedist", "ruiz@example.com");
+
+	private final DoctorNameIndex index = new DoctorNameIndex(
+			List.of(ADAMS, SMITH, SMITHSON, SMITHERS, OSMOND, JOHNSON, JOSE));
+
+	@Test
+	void shortQueriesMatchOnlyWordStarts() {
+		assertEquals(List.of("Smithers Anna", "Dr. Smith", "Dr. Smithson", "Dr. Adams"), names(index.search("sm", 10)));
+		assertEquals(List.of("Dr. Osmond"), names(index.search("mon", 10)));
+		assertEquals(List.of(), index.search("", 10));
+		assertEquals(List.of(), index.search(" . ", 10));
+	}
+
+	@Test
+	void foldsCaseAndAccents() {
+		// "jose" also shares a few trigrams with "johnson", which ranks below as a typo match
+		assertEquals(List.of("Dr. José Ruíz", "Dr. Johnson"), names(index.search("JOSE", 10)));
+		assertEquals(List.of("Dr. José Ruíz"), names(index.search("ruiz", 10)));
+		assertEquals(List.of("Dr. José Ruíz", "Dr. Johnson"), names(index.search("Josè", 10)));
+		assertEquals("dr jose ruiz", DoctorNameIndex.normalize("  Dr. JOSÉ  Ruíz! "));
+	}
+
+	@Test
+	void ranksFieldStartThenWholeWordThenPrefixThenOtherFields() {
+		assertEquals(List.of("Smithers Anna", "Dr. Smith", "Dr. Smithson", "Dr. Adams"), names(index.search("smith", 10)));
+		assertEquals(List.of("Dr. Smithson"), names(index.search("ithso", 10)));
+	}
+
+	@Test
+	void toleratesATypoBelowExactMatches() {
+		assertEquals(List.of("Dr. Johnson", "Dr. Smithson"), names(index.search("jonhson", 10)));
+		assertEquals(List.of("Dr. Johnson"), names(index.search("johnsonn", 10)));
+		assertEquals(List.of(), index.search("xyzzy", 10));
+	}
+
+	@Test
+	void returnsAtMostTheLimitBreakingTiesByName() {
+		assertEquals(List.of("Dr. Adams", "Dr. Johnson"), names(index.search("dr", 2)));
+		assertEquals(List.of("Smithers Anna"), names(index.search("smith", 1)));
+		assertEquals(List.of(), index.search("smith", 0));
+	}
+
+	private static List<String> names(List<Doctor> doctors) {
+		List<String> names = new ArrayList<>();
+		for (Doctor doctor : doctors) {
+			names.add(doctor.getName());
+		}
+		return names;
+	}
+
+	private static Doctor doctor(long id, String name, String specialty, String email) {
+		return new Doctor(id, name, specialty, email, "secret123", "5550001111", List.of());
+	}
+}
@@ -0,0 +1,89 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.DTO.AppointmentDTO;
+
+class ExportServiceTests {
+
+	private static final LocalDateTime TIME = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final ExportService exportService = new ExportService(null, objectMapper, null);
+
+	@Test
+	void csvQuotesSeparatorsAndDoublesQuotes() throws Exception {
+		String csv = write(ExportService.Format.CSV, row(1, "Dr. Smith, Jr.", "Ann \"Annie\" Lee", "5551234567"));
+
+		assertEquals(List.of("id,appointmentTime,status,doctorId,doctorName,patientId,patientName,patientEmail,patientPhone",
+				"1,2026-03-02T09:00,0,7,\"Dr. Smith, Jr.\",9,\"Ann \"\"Annie\"\" Lee\",p@example.com,5551234567"),
+				csv.lines().toList());
+	}
+
+	@Test
+	void csvQuotesLineBreaksInsideOneRecord() throws Exception {
+		String csv = write(ExportService.Format.CSV, row(1, "Dr. Two\nLines", "Pat", "555"));
+
+		assertEquals("1,2026-03-02T09:00,0,7,\"Dr. Two\nLines\",9,Pat,p@example.com,555\n",
+				csv.substring(csv.indexOf('\n') + 1));
+	}
+
+	@Test
+	void csvNeutralizesFormulas() throws Exception {
+		String csv = write(ExportService.Format.CSV, row(1, "=HYPERLINK(\"http://x\")", "@SUM(A1)", "+15551234567"),
+				row(2, "-1+1", "\tTab", "555"));
+		List<String> lines = csv.lines().toList();
+
+		assertEquals("1,2026-03-02T09:00,0,7,\"'=HYPERLINK(\"\"http://x\"\")\",9,\"'@SUM(A1)\",p@example.com,\"'+15551234567\"",
+				lines.get(1));
+		assertEquals("2,2026-03-02T09:00,0,7,\"'-1+1\",9,\"'\tTab\",p@example.com,555", lines.get(2));
+	}
+
+	@Test
+	void csvWritesNullAsEmptyField() throws Exception {
+		String csv = write(ExportService.Format.CSV, row(1, "Dr. A", null, null));
+
+		assertEquals("1,2026-03-02T09:00,0,7,Dr. A,9,,p@example.com,", csv.lines().toList().get(1));
+	}
+
+	@Test
+	void ndjsonWritesOneObjectPerLine() throws Exception {
+		String ndjson = write(ExportService.Format.NDJSON, row(1, "Dr. A", "Line\nBreak", "555"),
+				row(2, "Dr. B", "Pat", "556"));
+		List<String> lines = ndjson.lines().toList();
+
+		assertEquals(2, lines.size());
+		assertEquals('\n', ndjson.charAt(ndjson.length() - 1));
+		JsonNode first = objectMapper.readTree(lines.get(0));
+		assertEquals(1, first.get("id").asLong());
+		assertEquals("Line\nBreak", first.get("patientName").asText());
+		assertEquals(2, objectMapper.readTree(lines.get(1)).get("id").asLong());
+	}
+
+	@Test
+	void emptyExportsWriteOnlyTheFraming() throws Exception {
+		assertEquals("", write(ExportService.Format.NDJSON));
+		assertEquals(1, write(ExportService.Format.CSV).lines().count());
+	}
+
+	private String write(ExportService.Format format, AppointmentDTO... rows) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long written = exportService.write(List.of(rows).iterator(), format, out);
+		assertEquals(rows.length, written);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	private static AppointmentDTO row(long id, String doctorName, String patientName, String phone) {
+		return new AppointmentDTO(id, 7L, doctorName, 9L, patientName, "p@example.com", phone, "1 Main Street", TIME, 0);
+	}
+}
@@ -0,0 +1,81 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.project.back_end.DTO.AppointmentCursor;
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.TimeSlot;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+
+@SpringBootTest
+class PatientServiceTests {
+
+	@Autowired
+	private PatientService patientService;
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Autowired
+	private PatientRepository patientRepository;
+
+	@Test
+	void doctorFilterMatchesTheSameRowsWithAndWithoutPaging() {
+		Doctor smith = doctor("Dr. Filter Smith", "filter.smith@example.com", "5550006001");
+		Doctor jones = doctor("Dr.Filter-Jones", "filter.jones@example.com", "5550006002");
+		Patient patient = patientRepository.save(new Patient(null, "Filter Patient", "filter.patient@example.com",
+				"secret123", "5550006003", "1 Test Street"));
+		LocalDate day = LocalDate.now().plusDays(3);
+		Appointment withSmith = new Appointment(null, smith, patient, day.atTime(9, 0), 0);
+		Appointment withJones = new Appointment(null, jones, patient, day.atTime(10, 0), 0);
+		assertEquals(1, appointmentService.bookAppointment(withSmith));
+		assertEquals(1, appointmentService.bookAppointment(withJones));
+
+		assertEquals(List.of(withSmith.getId()), unpaged(patient, "SMITH"));
+		assertEquals(List.of(withJones.getId()), unpaged(patient, "dr.filter"));
+		assertEquals(List.of(withSmith.getId(), withJones.getId()), unpaged(patient, "."));
+		assertEquals(List.of(withJones.getId()), unpaged(patient, "-"));
+		assertEquals(List.of(), unpaged(patient, "filter smith jones"));
+		for (String name : List.of("SMITH", "dr.filter", "dr. filter", ".", "-", "filter smith jones", "filter")) {
+			assertEquals(unpaged(patient, name), paged(patient, name), name);
+		}
+	}
+
+	private List<Long> unpaged(Patient patient, String name) {
+		return ids(patientService.filterByDoctor(name, patient.getId(), null).getBody());
+	}
+
+	private List<Long> paged(Patient patient, String name) {
+		return ids(patientService.filterByDoctor(name, patient.getId(), AppointmentCursor.of(null, 10)).getBody());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Long> ids(Map<String, Object> body) {
+		List<Long> ids = new ArrayList<>();
+		for (AppointmentDTO appointment : (List<AppointmentDTO>) body.get("appointments")) {
+			ids.add(appointment.getId());
+		}
+		return ids;
+	}
+
+	private Doctor doctor(String name, String email, String phone) {
+		return doctorRepository.save(new Doctor(null, name, "Cardiologist", email, "secret123", phone,
+				new ArrayList<>(List.of(TimeSlot.parse("09:00-10:00"), TimeSlot.parse("10:00-11:00")))));
+	}
+}
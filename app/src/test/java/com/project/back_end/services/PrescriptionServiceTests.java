@@ -0,0 +1,118 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.PrescriptionRepository;
+
+class PrescriptionServiceTests {
+
+	private static final long APPOINTMENT = 42L;
+
+	private final PrescriptionRepository prescriptionRepository = mock(PrescriptionRepository.class);
+	private final AppointmentService appointmentService = mock(AppointmentService.class);
+	private final PrescriptionService prescriptionService = new PrescriptionService(prescriptionRepository,
+			appointmentService, new SimpleAsyncTaskExecutor());
+
+	@Test
+	void bothWritesSucceed() {
+		stored();
+		when(appointmentService.transitionStatus(APPOINTMENT, 0, 1)).thenReturn(true);
+
+		assertResponse(HttpStatus.CREATED, "Prescription saved", save());
+		verify(prescriptionRepository, never()).deleteById(anyString());
+		verify(appointmentService, never()).transitionStatus(APPOINTMENT, 1, 0);
+	}
+
+	@Test
+	void storeFailureRevertsTheStatus() {
+		when(prescriptionRepository.insert(any(Prescription.class)))
+				.thenThrow(new DataAccessResourceFailureException("mongo down"));
+		when(appointmentService.transitionStatus(APPOINTMENT, 0, 1)).thenReturn(true);
+
+		assertResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", save());
+		verify(appointmentService).transitionStatus(APPOINTMENT, 1, 0);
+	}
+
+	@Test
+	void statusFailureDeletesTheStoredPrescription() {
+		stored();
+		when(appointmentService.transitionStatus(APPOINTMENT, 0, 1))
+				.thenThrow(new DataAccessResourceFailureException("mysql down"));
+
+		assertResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", save());
+		verify(prescriptionRepository).deleteById("p1");
+	}
+
+	@Test
+	void duplicatePrescriptionRevertsTheStatus() {
+		when(prescriptionRepository.insert(any(Prescription.class))).thenThrow(new DuplicateKeyException("dup"));
+		when(appointmentService.transitionStatus(APPOINTMENT, 0, 1)).thenReturn(true);
+
+		assertResponse(HttpStatus.BAD_REQUEST, "prescription already exists", save());
+		verify(appointmentService).transitionStatus(APPOINTMENT, 1, 0);
+	}
+
+	@Test
+	void missingAppointmentDeletesTheStoredPrescription() {
+		stored();
+		when(appointmentService.transitionStatus(APPOINTMENT, 0, 1)).thenReturn(false);
+		when(appointmentService.findStatus(APPOINTMENT)).thenReturn(null);
+
+		assertResponse(HttpStatus.NOT_FOUND, "Appointment not found", save());
+		verify(prescriptionRepository).deleteById("p1");
+	}
+
+	@Test
+	void appointmentInAnotherStatusDeletesTheStoredPrescription() {
+		stored();
+		when(appointmentService.transitionStatus(APPOINTMENT, 0, 1)).thenReturn(false);
+		when(appointmentService.findStatus(APPOINTMENT)).thenReturn(2);
+
+		assertResponse(HttpStatus.CONFLICT, "Appointment is not scheduled", save());
+		verify(prescriptionRepository).deleteById("p1");
+	}
+
+	@Test
+	void completedAppointmentWithoutPrescriptionKeepsTheNewOne() {
+		stored();
+		when(appointmentService.transitionStatus(APPOINTMENT, 0, 1)).thenReturn(false);
+		when(appointmentService.findStatus(APPOINTMENT)).thenReturn(1);
+
+		assertResponse(HttpStatus.CREATED, "Prescription saved", save());
+		verify(prescriptionRepository, never()).deleteById(anyString());
+	}
+
+	private void stored() {
+		when(prescriptionRepository.insert(any(Prescription.class))).thenAnswer(invocation -> {
+			Prescription prescription = invocation.getArgument(0);
+			prescription.setId("p1");
+			return prescription;
+		});
+	}
+
+	private ResponseEntity<Map<String, String>> save() {
+		return prescriptionService.savePrescription(
+				new Prescription(null, "Ann Lee", APPOINTMENT, "Amoxicillin", "500mg", null));
+	}
+
+	private static void assertResponse(HttpStatus status, String message, ResponseEntity<Map<String, String>> response) {
+		assertEquals(status, response.getStatusCode());
+		assertEquals(message, response.getBody().get("message"));
+	}
+}
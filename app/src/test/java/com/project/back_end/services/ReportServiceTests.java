@@ -0,0 +1,176 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.project.back_end.DTO.AppointmentSeries;
+import com.project.back_end.DTO.AuthenticatedUser;
+import com.project.back_end.DTO.DoctorAppointmentCount;
+import com.project.back_end.DTO.DoctorDayReport;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.DoctorMonthlyCount;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.TimeSlot;
+import com.project.back_end.repo.DoctorMonthlyCountRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+
+@SpringBootTest
+class ReportServiceTests {
+
+	// a year no other test books into, so its rollup rows are this test's alone
+	private static final int YEAR = 2099;
+
+	@Autowired
+	private ReportService reportService;
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private DoctorService doctorService;
+
+	@Autowired
+	private DoctorDirectory doctorDirectory;
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Autowired
+	private PatientRepository patientRepository;
+
+	@Autowired
+	private DoctorMonthlyCountRepository doctorMonthlyCountRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void bookingsUpdatesAndCancellationsKeepTheRollupCurrent() {
+		Doctor first = doctor("Dr. Rollup First", "rollup.first@example.com", "5550004001");
+		Doctor second = doctor("Dr. Rollup Second", "rollup.second@example.com", "5550004002");
+		Patient patient = patientRepository.save(new Patient(null, "Rollup Patient", "rollup.patient@example.com",
+				"secret123", "5550004003", "1 Test Street"));
+		doctorDirectory.refresh();
+
+		Appointment march2 = new Appointment(null, first, patient, at(3, 2, 9), 0);
+		Appointment march3 = new Appointment(null, first, patient, at(3, 3, 9), 0);
+		assertEquals(1, appointmentService.bookAppointment(march2));
+		assertEquals(1, appointmentService.bookAppointment(march3));
+		assertEquals(Map.of(first.getId(), 2L), top(3));
+		assertEquals(Map.of(first.getId(), 2L), top(DoctorMonthlyCount.WHOLE_YEAR));
+
+		// another doctor in the same month moves the count between doctors
+		assertEquals(200, appointmentService.updateAppointment(
+				new Appointment(march3.getId(), second, patient, at(3, 3, 10), 0)).getStatusCode().value());
+		assertEquals(Map.of(first.getId(), 1L, second.getId(), 1L), top(3));
+
+		// the same doctor in another month moves the count between months
+		assertEquals(200, appointmentService.updateAppointment(
+				new Appointment(march2.getId(), first, patient, at(4, 1, 10), 0)).getStatusCode().value());
+		assertEquals(Map.of(second.getId(), 1L), top(3));
+		assertEquals(Map.of(first.getId(), 1L), top(4));
+		assertEquals(Map.of(first.getId(), 1L, second.getId(), 1L), top(DoctorMonthlyCount.WHOLE_YEAR));
+
+		// a series adds to every month it touches
+		AppointmentSeries series = new AppointmentSeries();
+		series.setDoctorId(first.getId());
+		series.setAppointmentTimes(List.of(at(5, 4, 9), at(6, 1, 9), at(6, 8, 9)));
+		AuthenticatedUser user = new AuthenticatedUser("patient", patient.getId(), patient.getEmail(), patient);
+		appointmentService.bookSeries(series, user);
+		assertEquals(Map.of(first.getId(), 1L), top(5));
+		assertEquals(Map.of(first.getId(), 2L), top(6));
+		assertEquals(Map.of(first.getId(), 4L, second.getId(), 1L), top(DoctorMonthlyCount.WHOLE_YEAR));
+
+		assertEquals(200, appointmentService.cancelAppointment(march3.getId(), user).getStatusCode().value());
+		assertEquals(Map.of(), top(3));
+		assertEquals(Map.of(first.getId(), 4L), top(DoctorMonthlyCount.WHOLE_YEAR));
+
+		// the backfill recomputes exactly what the write paths maintained
+		List<Map<Long, Long>> maintained = new ArrayList<>();
+		for (int month = 0; month <= 6; month++) {
+			maintained.add(top(month));
+		}
+		reportService.rebuildDoctorMonthlyCounts();
+		for (int month = 0; month <= 6; month++) {
+			assertEquals(maintained.get(month), top(month), "month " + month);
+		}
+
+		// deleting a doctor drops their rollup rows with them
+		assertEquals(1, doctorService.deleteDoctor(first.getId()));
+		assertEquals(List.of(), doctorMonthlyCountRepository.findAll().stream()
+				.filter(count -> count.getDoctorId().equals(first.getId())).toList());
+		assertEquals(Map.of(), top(DoctorMonthlyCount.WHOLE_YEAR));
+	}
+
+	@Test
+	void dailyReportGroupsByDoctorAndFollowsRenamesAndDeletes() {
+		LocalDate day = LocalDate.of(2000, 1, 10);
+		Doctor beta = doctor("Dr. Report Beta", "report.beta@example.com", "5550005001");
+		Doctor alpha = doctor("Dr. Report Alpha", "report.alpha@example.com", "5550005002");
+		Patient patient = patientRepository.save(new Patient(null, "Report Patient", "report.patient@example.com",
+				"secret123", "5550005003", "1 Test Street"));
+		// past appointments fail @Future validation, so they go in through SQL like rows that have aged
+		insert(900_001, beta, patient, day.atTime(9, 0));
+		insert(900_002, alpha, patient, day.atTime(10, 0));
+		insert(900_003, alpha, patient, day.atTime(9, 0));
+
+		List<DoctorDayReport> report = reportService.dailyReport(day);
+		assertEquals(List.of("Dr. Report Alpha 09:00, 10:00", "Dr. Report Beta 09:00"), sections(report));
+		assertSame(report, reportService.dailyReport(day));
+
+		beta.setName("Dr. Report Aardvark");
+		assertEquals(1, doctorService.updateDoctor(beta));
+		assertEquals(List.of("Dr. Report Aardvark 09:00", "Dr. Report Alpha 09:00, 10:00"),
+				sections(reportService.dailyReport(day)));
+
+		assertEquals(1, doctorService.deleteDoctor(alpha.getId()));
+		assertEquals(List.of("Dr. Report Aardvark 09:00"), sections(reportService.dailyReport(day)));
+	}
+
+	private void insert(long id, Doctor doctor, Patient patient, LocalDateTime time) {
+		jdbcTemplate.update("INSERT INTO appointment (id, doctor_id, patient_id, appointment_time, status) VALUES (?, ?, ?, ?, 0)",
+				id, doctor.getId(), patient.getId(), time);
+	}
+
+	private static List<String> sections(List<DoctorDayReport> report) {
+		List<String> sections = new ArrayList<>();
+		for (DoctorDayReport doctor : report) {
+			List<String> times = new ArrayList<>();
+			doctor.getAppointments().forEach(row -> times.add(row.getAppointmentTime().toLocalTime().toString()));
+			sections.add(doctor.getDoctorName() + " " + String.join(", ", times));
+		}
+		return sections;
+	}
+
+	private Map<Long, Long> top(int month) {
+		Map<Long, Long> counts = new LinkedHashMap<>();
+		for (DoctorAppointmentCount count : doctorMonthlyCountRepository.findTop(YEAR, month, PageRequest.ofSize(10))) {
+			counts.put(count.getDoctorId(), count.getAppointments());
+		}
+		return counts;
+	}
+
+	private Doctor doctor(String name, String email, String phone) {
+		return doctorRepository.save(new Doctor(null, name, "Cardiologist", email, "secret123", phone,
+				new ArrayList<>(List.of(TimeSlot.parse("09:00-10:00"), TimeSlot.parse("10:00-11:00")))));
+	}
+
+	private static LocalDateTime at(int month, int day, int hour) {
+		return LocalDateTime.of(YEAR, month, day, hour, 0);
+	}
+}
@@ -0,0 +1,110 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.back_end.repo.AppointmentRepository;
+
+class SlotOccupancyIndexTests {
+
+	private static final Long DOCTOR = 1L;
+	private static final LocalDate TOMORROW = LocalDate.now().plusDays(1);
+
+	private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+	private final SlotOccupancyIndex index = new SlotOccupancyIndex(appointmentRepository, 3600);
+
+	@Test
+	void bookingsCoverAnHourOfQuarters() {
+		booked(TOMORROW.atTime(9, 15), TOMORROW.atTime(15, 45), TOMORROW.atTime(23, 30));
+
+		assertTrue(free(9, 0, 9, 15));
+		assertFalse(free(9, 0, 9, 20));
+		assertFalse(free(10, 0, 10, 15));
+		assertTrue(free(10, 15, 11, 15));
+		// 15:45 to 16:45 spans the first and second 64-bit word of the day
+		assertTrue(free(15, 30, 15, 45));
+		assertFalse(free(15, 59, 16, 0));
+		assertFalse(free(16, 30, 16, 45));
+		assertTrue(free(16, 45, 17, 0));
+		// a booking late in the evening is clipped at midnight
+		assertFalse(index.isFree(DOCTOR, TOMORROW, 23 * 60 + 45, 24 * 60));
+		assertTrue(free(22, 0, 23, 30));
+		verify(appointmentRepository, times(1)).findBookedTimes(eq(DOCTOR), any(), any());
+	}
+
+	@Test
+	void occupyMarksCachedDaysAndReleaseReloadsThem() {
+		booked();
+		assertTrue(free(13, 0, 14, 0));
+
+		index.occupy(DOCTOR, TOMORROW.atTime(13, 0));
+		assertFalse(free(13, 30, 13, 45));
+		verify(appointmentRepository, times(1)).findBookedTimes(eq(DOCTOR), any(), any());
+
+		index.release(DOCTOR, TOMORROW.atTime(13, 0));
+		assertTrue(free(13, 0, 14, 0));
+		verify(appointmentRepository, times(2)).findBookedTimes(eq(DOCTOR), any(), any());
+	}
+
+	@Test
+	void loadRacingAWriteIsNotCached() {
+		// a booking commits while the day is being read, after the query saw the table
+		when(appointmentRepository.findBookedTimes(eq(DOCTOR), any(), any())).thenAnswer(invocation -> {
+			index.occupy(DOCTOR, TOMORROW.atTime(11, 0));
+			return List.of();
+		}).thenReturn(List.of(TOMORROW.atTime(11, 0)));
+
+		assertTrue(free(11, 0, 12, 0));
+		assertFalse(free(11, 0, 12, 0));
+		assertFalse(free(11, 0, 12, 0));
+		verify(appointmentRepository, times(2)).findBookedTimes(eq(DOCTOR), any(), any());
+	}
+
+	@Test
+	void daysExpireAfterTheMaxAge() {
+		SlotOccupancyIndex expiring = new SlotOccupancyIndex(appointmentRepository, 0);
+		booked();
+
+		assertTrue(expiring.isFree(DOCTOR, TOMORROW, 9 * 60, 10 * 60));
+		booked(TOMORROW.atTime(9, 0));
+		assertFalse(expiring.isFree(DOCTOR, TOMORROW, 9 * 60, 10 * 60));
+		verify(appointmentRepository, times(2)).findBookedTimes(eq(DOCTOR), any(), any());
+	}
+
+	@Test
+	void pastDaysAreNeverCached() {
+		LocalDate yesterday = LocalDate.now().minusDays(1);
+		booked(yesterday.atTime(9, 0));
+
+		index.prime(List.of(DOCTOR), new TreeSet<>(List.of(yesterday)));
+		verify(appointmentRepository, never()).findBookedTimesForDoctors(anyCollection(), any(), any());
+
+		assertFalse(index.isFree(DOCTOR, yesterday, 9 * 60, 10 * 60));
+		booked();
+		assertTrue(index.isFree(DOCTOR, yesterday, 9 * 60, 10 * 60));
+		verify(appointmentRepository, times(2)).findBookedTimes(eq(DOCTOR), any(), any());
+	}
+
+	private boolean free(int fromHour, int fromMinute, int toHour, int toMinute) {
+		return index.isFree(DOCTOR, TOMORROW, fromHour * 60 + fromMinute, toHour * 60 + toMinute);
+	}
+
+	private void booked(LocalDateTime... starts) {
+		when(appointmentRepository.findBookedTimes(eq(DOCTOR), any(), any())).thenReturn(List.of(starts));
+	}
+}
@@ -0,0 +1,82 @@
+package com.project.back_end.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TokenServiceTests {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef-token-service-tests";
+	private static final int MAX_SIZE = 100;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final TokenService tokenService = new TokenService(null, null, null, meterRegistry, SECRET, MAX_SIZE);
+
+	@Test
+	void countsHitsAndMisses() {
+		String token = tokenService.generateToken("ann@example.com", "patient");
+
+		assertEquals("ann@example.com", tokenService.extractEmail(token));
+		assertEquals("patient", tokenService.extractRole(token));
+		assertEquals("ann@example.com", tokenService.extractEmail(token));
+		assertNull(tokenService.extractEmail("not.a.token"));
+
+		assertEquals(2, tokenService.getCacheHits());
+		assertEquals(2, tokenService.getCacheMisses());
+		assertEquals(1, tokenService.getCacheSize());
+		assertEquals(2.0, meterRegistry.get("auth.token.claims.cache.hits").functionCounter().count());
+		assertEquals(2.0, meterRegistry.get("auth.token.claims.cache.misses").functionCounter().count());
+	}
+
+	@Test
+	void expiredTokensAreVerifiedAgainAndRejected() throws Exception {
+		// JWT expiry has second precision, so expire at the start of a second at least one second away
+		long expiresAt = (System.currentTimeMillis() / 1000 + 2) * 1000;
+		String token = Jwts.builder()
+				.subject("short@example.com")
+				.expiration(new Date(expiresAt))
+				.signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+				.compact();
+
+		assertEquals("short@example.com", tokenService.extractEmail(token));
+		assertEquals("short@example.com", tokenService.extractEmail(token));
+		assertEquals(1, tokenService.getCacheHits());
+
+		Thread.sleep(expiresAt - System.currentTimeMillis() + 50);
+		assertNull(tokenService.extractEmail(token));
+		assertEquals(1, tokenService.getCacheHits());
+		assertEquals(2, tokenService.getCacheMisses());
+		assertEquals(0, tokenService.getCacheSize());
+	}
+
+	@Test
+	void fullCacheFreesATenthAtOnce() {
+		for (int i = 0; i < MAX_SIZE; i++) {
+			tokenService.extractEmail(tokenService.generateToken("user" + i + "@example.com", "patient"));
+		}
+		assertEquals(MAX_SIZE, tokenService.getCacheSize());
+
+		tokenService.extractEmail(tokenService.generateToken("overflow@example.com", "patient"));
+		assertEquals(MAX_SIZE - MAX_SIZE / 10 + 1, tokenService.getCacheSize());
+
+		// the freed room takes the next tokens without another eviction
+		for (int i = 1; i < MAX_SIZE / 10; i++) {
+			tokenService.extractEmail(tokenService.generateToken("more" + i + "@example.com", "patient"));
+		}
+		assertEquals(MAX_SIZE, tokenService.getCacheSize());
+
+		for (int i = 0; i < 3 * MAX_SIZE; i++) {
+			tokenService.extractEmail(tokenService.generateToken("load" + i + "@example.com", "patient"));
+			assertTrue(tokenService.getCacheSize() <= MAX_SIZE);
+		}
+	}
+}
@@ -1,56 +1,60 @@
-INSERT INTO doctor (email, name, password, phone, specialty) VALUES
-('dr.adams@example.com', 'Dr. Emily Adams', 'pass12345', '555-101-2020', 'Cardiologist'),
-('dr.johnson@example.com', 'Dr. Mark Johnson', 'secure4567', '555-202-3030', 'Neurologist'),
-('dr.lee@example.com', 'Dr. Sarah Lee', 'leePass987', '555-303-4040', 'Orthopedist'),
-('dr.wilson@example.com', 'Dr. Tom Wilson', 'w!ls0nPwd', '555-404-5050', 'Pediatrician'),
-('dr.brown@example.com', 'Dr. Alice Brown', 'brownie123', '555-505-6060', 'Dermatologist'),
-('dr.taylor@example.com', 'Dr. Taylor Grant', 'taylor321', '555-606-7070', 'Cardiologist'),
-('dr.white@example.com', 'Dr. Sam White', 'whiteSecure1', '555-707-8080', 'Neurologist'),
-('dr.clark@example.com', 'Dr. Emma Clark', 'clarkPass456', '555-808-9090', 'Orthopedist'),
-('dr.davis@example.com', 'Dr. Olivia Davis', 'davis789', '555-909-0101', 'Pediatrician'),
-('dr.miller@example.com', 'Dr. Henry Miller', 'millertime!', '555-010-1111', 'Dermatologist'),
-('dr.moore@example.com', 'Dr. Ella Moore', 'ellapass33', '555-111-2222', 'Cardiologist'),
-('dr.martin@example.com', 'Dr. Leo Martin', 'martinpass', '555-222-3333', 'Neurologist'),
-('dr.jackson@example.com', 'Dr. Ivy Jackson', 'jackson11', '555-333-4444', 'Orthopedist'),
-('dr.thomas@example.com', 'Dr. Owen Thomas', 'thomasPWD', '555-444-5555', 'Pediatrician'),
-('dr.hall@example.com', 'Dr. Ava Hall', 'hallhall', '555-555-6666', 'Dermatologist'),
-('dr.green@example.com', 'Dr. Mia Green', 'greenleaf', '555-666-7777', 'Cardiologist'),
-('dr.baker@example.com', 'Dr. Jack Baker', 'bakeitup', '555-777-8888', 'Neurologist'),
-('dr.walker@example.com', 'Dr. Nora Walker', 'walkpass12', '555-888-9999', 'Orthopedist'),
-('dr.young@example.com', 'Dr. Liam Young', 'young123', '555-999-0000', 'Pediatrician'),
-('dr.king@example.com', 'Dr. Zoe King', 'kingkong1', '555-000-1111', 'Dermatologist'),
-('dr.scott@example.com', 'Dr. Lily Scott', 'scottish', '555-111-2223', 'Cardiologist'),
-('dr.evans@example.com', 'Dr. Lucas Evans', 'evansEv1', '555-222-3334', 'Neurologist'),
-('dr.turner@example.com', 'Dr. Grace Turner', 'turnerBurner', '555-333-4445', 'Orthopedist'),
-('dr.hill@example.com', 'Dr. Ethan Hill', 'hillclimb', '555-444-5556', 'Pediatrician'),
-('dr.ward@example.com', 'Dr. Ruby Ward', 'wardWard', '555-555-6667', 'Dermatologist');
+INSERT INTO doctor (id, email, name, password, phone, specialty) VALUES
+(1, 'dr.adams@example.com', 'Dr. Emily Adams', 'pass12345', '555-101-2020', 'Cardiologist'),
+(2, 'dr.johnson@example.com', 'Dr. Mark Johnson', 'secure4567', '555-202-3030', 'Neurologist'),
+(3, 'dr.lee@example.com', 'Dr. Sarah Lee', 'leePass987', '555-303-4040', 'Orthopedist'),
+(4, 'dr.wilson@example.com', 'Dr. Tom Wilson', 'w!ls0nPwd', '555-404-5050', 'Pediatrician'),
+(5, 'dr.brown@example.com', 'Dr. Alice Brown', 'brownie123', '555-505-6060', 'Dermatologist'),
+(6, 'dr.taylor@example.com', 'Dr. Taylor Grant', 'taylor321', '555-606-7070', 'Cardiologist'),
+(7, 'dr.white@example.com', 'Dr. Sam White', 'whiteSecure1', '555-707-8080', 'Neurologist'),
+(8, 'dr.clark@example.com', 'Dr. Emma Clark', 'clarkPass456', '555-808-9090', 'Orthopedist'),
+(9, 'dr.davis@example.com', 'Dr. Olivia Davis', 'davis789', '555-909-0101', 'Pediatrician'),
+(10, 'dr.miller@example.com', 'Dr. Henry Miller', 'millertime!', '555-010-1111', 'Dermatologist'),
+(11, 'dr.moore@example.com', 'Dr. Ella Moore', 'ellapass33', '555-111-2222', 'Cardiologist'),
+(12, 'dr.martin@example.com', 'Dr. Leo Martin', 'martinpass', '555-222-3333', 'Neurologist'),
+(13, 'dr.jackson@example.com', 'Dr. Ivy Jackson', 'jackson11', '555-333-4444', 'Orthopedist'),
+(14, 'dr.thomas@example.com', 'Dr. Owen Thomas', 'thomasPWD', '555-444-5555', 'Pediatrician'),
+(15, 'dr.hall@example.com', 'Dr. Ava Hall', 'hallhall', '555-555-6666', 'Dermatologist'),
+(16, 'dr.green@example.com', 'Dr. Mia Green', 'greenleaf', '555-666-7777', 'Cardiologist'),
+(17, 'dr.baker@example.com', 'Dr. Jack Baker', 'bakeitup', '555-777-8888', 'Neurologist'),
+(18, 'dr.walker@example.com', 'Dr. Nora Walker', 'walkpass12', '555-888-9999', 'Orthopedist'),
+(19, 'dr.young@example.com', 'Dr. Liam Young', 'young123', '555-999-0000', 'Pediatrician'),
+(20, 'dr.king@example.com', 'Dr. Zoe King', 'kingkong1', '555-000-1111', 'Dermatologist'),
+(21, 'dr.scott@example.com', 'Dr. Lily Scott', 'scottish', '555-111-2223', 'Cardiologist'),
+(22, 'dr.evans@example.com', 'Dr. Lucas Evans', 'evansEv1', '555-222-3334', 'Neurologist'),
+(23, 'dr.turner@example.com', 'Dr. Grace Turner', 'turnerBurner', '555-333-4445', 'Orthopedist'),
+(24, 'dr.hill@example.com', 'Dr. Ethan Hill', 'hillclimb', '555-444-5556', 'Pediatrician'),
+(25, 'dr.ward@example.com', 'Dr. Ruby Ward', 'wardWard', '555-555-6667', 'Dermatologist');
 
-INSERT INTO doctor_available_times (doctor_id, available_times) VALUES
-(1, '09:00-10:00'), (1, '10:00-11:00'), (1, '11:00-12:00'), (1, '14:00-15:00'),
-(2, '10:00-11:00'), (2, '11:00-12:00'), (2, '14:00-15:00'), (2, '15:00-16:00'),
-(3, '09:00-10:00'), (3, '11:00-12:00'), (3, '14:00-15:00'), (3, '16:00-17:00'),
-(4, '09:00-10:00'), (4, '10:00-11:00'), (4, '15:00-16:00'), (4, '16:00-17:00'),
-(5, '09:00-10:00'), (5, '10:00-11:00'), (5, '14:00-15:00'), (5, '15:00-16:00'),
-(6, '09:00-10:00'), (6, '10:00-11:00'), (6, '11:00-12:00'), (6, '14:00-15:00'),
-(7, '09:00-10:00'), (7, '10:00-11:00'), (7, '15:00-16:00'), (7, '16:00-17:00'),
-(8, '10:00-11:00'), (8, '11:00-12:00'), (8, '14:00-15:00'), (8, '15:00-16:00'),
-(9, '09:00-10:00'), (9, '11:00-12:00'), (9, '13:00-14:00'), (9, '14:00-15:00'),
-(10, '10:00-11:00'), (10, '11:00-12:00'), (10, '14:00-15:00'), (10, '16:00-17:00'),
-(11, '09:00-10:00'), (11, '12:00-13:00'), (11, '14:00-15:00'), (11, '15:00-16:00'),
-(12, '10:00-11:00'), (12, '11:00-12:00'), (12, '13:00-14:00'), (12, '14:00-15:00'),
-(13, '13:00-14:00'), (13, '14:00-15:00'), (13, '15:00-16:00'), (13, '16:00-17:00'),
-(14, '09:00-10:00'), (14, '10:00-11:00'), (14, '14:00-15:00'), (14, '16:00-17:00'),
-(15, '10:00-11:00'), (15, '11:00-12:00'), (15, '13:00-14:00'), (15, '14:00-15:00'),
-(16, '09:00-10:00'), (16, '11:00-12:00'), (16, '14:00-15:00'), (16, '16:00-17:00'),
-(17, '09:00-10:00'), (17, '10:00-11:00'), (17, '11:00-12:00'), (17, '12:00-13:00'),
-(18, '09:00-10:00'), (18, '10:00-11:00'), (18, '11:00-12:00'), (18, '15:00-16:00'),
-(19, '13:00-14:00'), (19, '14:00-15:00'), (19, '15:00-16:00'), (19, '16:00-17:00'),
-(20, '10:00-11:00'), (20, '13:00-14:00'), (20, '14:00-15:00'), (20, '15:00-16:00'),
-(21, '09:00-10:00'), (21, '10:00-11:00'), (21, '14:00-15:00'), (21, '15:00-16:00'),
-(22, '10:00-11:00'), (22, '11:00-12:00'), (22, '14:00-15:00'), (22, '16:00-17:00'),
-(23, '11:00-12:00'), (23, '13:00-14:00'), (23, '15:00-16:00'), (23, '16:00-17:00'),
-(24, '12:00-13:00'), (24, '13:00-14:00'), (24, '14:00-15:00'), (24, '15:00-16:00'),
-(25, '09:00-10:00'), (25, '10:00-11:00'), (25, '14:00-15:00'), (25, '15:00-16:00');
+-- Doctor ids come from the pooled doctor_seq; move it past the rows above
+DELETE FROM doctor_seq;
+INSERT INTO doctor_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM doctor;
+
+INSERT INTO doctor_available_times (doctor_id, start_minute, end_minute) VALUES
+(1, 540, 600), (1, 600, 660), (1, 660, 720), (1, 840, 900),
+(2, 600, 660), (2, 660, 720), (2, 840, 900), (2, 900, 960),
+(3, 540, 600), (3, 660, 720), (3, 840, 900), (3, 960, 1020),
+(4, 540, 600), (4, 600, 660), (4, 900, 960), (4, 960, 1020),
+(5, 540, 600), (5, 600, 660), (5, 840, 900), (5, 900, 960),
+(6, 540, 600), (6, 600, 660), (6, 660, 720), (6, 840, 900),
+(7, 540, 600), (7, 600, 660), (7, 900, 960), (7, 960, 1020),
+(8, 600, 660), (8, 660, 720), (8, 840, 900), (8, 900, 960),
+(9, 540, 600), (9, 660, 720), (9, 780, 840), (9, 840, 900),
+(10, 600, 660), (10, 660, 720), (10, 840, 900), (10, 960, 1020),
+(11, 540, 600), (11, 720, 780), (11, 840, 900), (11, 900, 960),
+(12, 600, 660), (12, 660, 720), (12, 780, 840), (12, 840, 900),
+(13, 780, 840), (13, 840, 900), (13, 900, 960), (13, 960, 1020),
+(14, 540, 600), (14, 600, 660), (14, 840, 900), (14, 960, 1020),
+(15, 600, 660), (15, 660, 720), (15, 780, 840), (15, 840, 900),
+(16, 540, 600), (16, 660, 720), (16, 840, 900), (16, 960, 1020),
+(17, 540, 600), (17, 600, 660), (17, 660, 720), (17, 720, 780),
+(18, 540, 600), (18, 600, 660), (18, 660, 720), (18, 900, 960),
+(19, 780, 840), (19, 840, 900), (19, 900, 960), (19, 960, 1020),
+(20, 600, 660), (20, 780, 840), (20, 840, 900), (20, 900, 960),
+(21, 540, 600), (21, 600, 660), (21, 840, 900), (21, 900, 960),
+(22, 600, 660), (22, 660, 720), (22, 840, 900), (22, 960, 1020),
+(23, 660, 720), (23, 780, 840), (23, 900, 960), (23, 960, 1020),
+(24, 720, 780), (24, 780, 840), (24, 840, 900), (24, 900, 960),
+(25, 540, 600), (25, 600, 660), (25, 840, 900), (25, 900, 960);
 
 INSERT INTO patient (address, email, name, password, phone) VALUES
 ('101 Oak St, Cityville', 'jane.doe@example.com', 'Jane Doe', 'passJane1', '888-111-1111'),
@@ -79,137 +83,141 @@ INSERT INTO patient (address, email, name, password, phone) VALUES
 ('125 Juniper Ct, Greenwood', 'leo.m@example.com', 'Leo Martin', 'leopass', '890-444-4444'),
 ('126 Olive Rd, Ashville', 'ella.moore@example.com', 'Ella Moore', 'ellamoore', '890-555-5555');
 
-INSERT INTO appointment (appointment_time, status, doctor_id, patient_id) VALUES
-('2025-05-01 09:00:00.000000', 0, 1, 1),
-('2025-05-02 10:00:00.000000', 0, 1, 2),
-('2025-05-03 11:00:00.000000', 0, 1, 3),
-('2025-05-04 14:00:00.000000', 0, 1, 4),
-('2025-05-05 15:00:00.000000', 0, 1, 5),
-('2025-05-06 13:00:00.000000', 0, 1, 6),
-('2025-05-07 09:00:00.000000', 0, 1, 7),
-('2025-05-08 16:00:00.000000', 0, 1, 8),
-('2025-05-09 11:00:00.000000', 0, 1, 9),
-('2025-05-10 10:00:00.000000', 0, 1, 10),
-('2025-05-11 12:00:00.000000', 0, 1, 11),
-('2025-05-12 15:00:00.000000', 0, 1, 12),
-('2025-05-13 13:00:00.000000', 0, 1, 13),
-('2025-05-14 10:00:00.000000', 0, 1, 14),
-('2025-05-15 11:00:00.000000', 0, 1, 15),
-('2025-05-16 14:00:00.000000', 0, 1, 16),
-('2025-05-17 09:00:00.000000', 0, 1, 17),
-('2025-05-18 12:00:00.000000', 0, 1, 18),
-('2025-05-19 13:00:00.000000', 0, 1, 19),
-('2025-05-20 16:00:00.000000', 0, 1, 20),
-('2025-05-21 14:00:00.000000', 0, 1, 21),
-('2025-05-22 10:00:00.000000', 0, 1, 22),
-('2025-05-23 11:00:00.000000', 0, 1, 23),
-('2025-05-24 15:00:00.000000', 0, 1, 24),
-('2025-05-25 09:00:00.000000', 0, 1, 25),
-('2025-05-01 10:00:00.000000', 0, 2, 1),
-('2025-05-02 11:00:00.000000', 0, 3, 2),
-('2025-05-03 14:00:00.000000', 0, 4, 3),
-('2025-05-04 15:00:00.000000', 0, 5, 4),
-('2025-05-05 10:00:00.000000', 0, 6, 5),
-('2025-05-06 11:00:00.000000', 0, 7, 6),
-('2025-05-07 14:00:00.000000', 0, 8, 7),
-('2025-05-08 15:00:00.000000', 0, 9, 8),
-('2025-05-09 10:00:00.000000', 0, 10, 9),
-('2025-05-10 14:00:00.000000', 0, 11, 10),
-('2025-05-11 13:00:00.000000', 0, 12, 11),
-('2025-05-12 14:00:00.000000', 0, 13, 12),
-('2025-05-13 15:00:00.000000', 0, 14, 13),
-('2025-05-14 10:00:00.000000', 0, 15, 14),
-('2025-05-15 11:00:00.000000', 0, 16, 15),
-('2025-05-16 14:00:00.000000', 0, 17, 16),
-('2025-05-17 10:00:00.000000', 0, 18, 17),
-('2025-05-18 13:00:00.000000', 0, 19, 18),
-('2025-05-19 14:00:00.000000', 0, 20, 19),
-('2025-05-20 11:00:00.000000', 0, 21, 20),
-('2025-05-21 13:00:00.000000', 0, 22, 21),
-('2025-05-22 14:00:00.000000', 0, 23, 22),
-('2025-05-23 10:00:00.000000', 0, 24, 23),
-('2025-05-24 15:00:00.000000', 0, 25, 24),
-('2025-05-25 13:00:00.000000', 0, 25, 25),
-('2025-04-01 10:00:00.000000', 1, 1, 2),
-('2025-04-02 11:00:00.000000', 1, 2, 3),
-('2025-04-03 14:00:00.000000', 1, 3, 4),
-('2025-04-04 15:00:00.000000', 1, 4, 5),
-('2025-04-05 10:00:00.000000', 1, 5, 6),
-('2025-04-06 11:00:00.000000', 1, 6, 7),
-('2025-04-07 14:00:00.000000', 1, 7, 8),
-('2025-04-08 15:00:00.000000', 1, 8, 9),
-('2025-04-09 10:00:00.000000', 1, 9, 10),
-('2025-04-10 14:00:00.000000', 1, 10, 11),
-('2025-04-11 13:00:00.000000', 1, 11, 12),
-('2025-04-12 14:00:00.000000', 1, 12, 13),
-('2025-04-13 15:00:00.000000', 1, 13, 14),
-('2025-04-14 10:00:00.000000', 1, 14, 15),
-('2025-04-15 11:00:00.000000', 1, 15, 16),
-('2025-04-16 14:00:00.000000', 1, 16, 17),
-('2025-04-17 10:00:00.000000', 1, 17, 18),
-('2025-04-18 13:00:00.000000', 1, 18, 19),
-('2025-04-19 14:00:00.000000', 1, 19, 20),
-('2025-04-20 11:00:00.000000', 1, 20, 21),
-('2025-04-21 13:00:00.000000', 1, 21, 22),
-('2025-04-22 14:00:00.000000', 1, 22, 23),
-('2025-04-23 10:00:00.000000', 1, 23, 24),
-('2025-04-24 15:00:00.000000', 1, 24, 25),
-('2025-04-25 13:00:00.000000', 1, 25, 25),
-('2025-04-01 09:00:00.000000', 1, 1, 1),
-('2025-04-02 10:00:00.000000', 1, 1, 2),
-('2025-04-03 11:00:00.000000', 1, 1, 3),
-('2025-04-04 14:00:00.000000', 1, 1, 4),
-('2025-04-05 10:00:00.000000', 1, 1, 5),
-('2025-04-10 10:00:00.000000', 1, 1, 6),
-('2025-04-11 09:00:00.000000', 1, 1, 7),
-('2025-04-14 13:00:00.000000', 1, 1, 8),
-('2025-04-01 10:00:00.000000', 1, 2, 1),
-('2025-04-01 11:00:00.000000', 1, 2, 2),
-('2025-04-02 09:00:00.000000', 1, 2, 3),
-('2025-04-02 10:00:00.000000', 1, 2, 4),
-('2025-04-03 11:00:00.000000', 1, 2, 5),
-('2025-04-03 12:00:00.000000', 1, 2, 6),
-('2025-04-04 14:00:00.000000', 1, 2, 7),
-('2025-04-04 15:00:00.000000', 1, 2, 8),
-('2025-04-05 10:00:00.000000', 1, 2, 9),
-('2025-04-05 11:00:00.000000', 1, 2, 10),
-('2025-04-06 13:00:00.000000', 1, 2, 11),
-('2025-04-06 14:00:00.000000', 1, 2, 12),
-('2025-04-07 09:00:00.000000', 1, 2, 13),
-('2025-04-07 10:00:00.000000', 1, 2, 14),
-('2025-04-08 11:00:00.000000', 1, 2, 15),
-('2025-04-08 12:00:00.000000', 1, 2, 16),
-('2025-04-09 13:00:00.000000', 1, 2, 17),
-('2025-04-09 14:00:00.000000', 1, 2, 18),
-('2025-04-10 11:00:00.000000', 1, 2, 19),
-('2025-04-10 12:00:00.000000', 1, 2, 20),
-('2025-04-11 14:00:00.000000', 1, 2, 21),
-('2025-04-11 15:00:00.000000', 1, 2, 22),
-('2025-04-12 10:00:00.000000', 1, 2, 23),
-('2025-04-12 11:00:00.000000', 1, 2, 24),
-('2025-04-13 13:00:00.000000', 1, 2, 25),
-('2025-04-13 14:00:00.000000', 1, 2, 1),
-('2025-04-14 09:00:00.000000', 1, 2, 2),
-('2025-04-14 10:00:00.000000', 1, 2, 3),
-('2025-04-15 12:00:00.000000', 1, 2, 4),
-('2025-04-15 13:00:00.000000', 1, 2, 5),
-('2025-04-01 12:00:00.000000', 1, 3, 1),
-('2025-04-02 11:00:00.000000', 1, 3, 2),
-('2025-04-03 13:00:00.000000', 1, 3, 3),
-('2025-04-04 15:00:00.000000', 1, 3, 4),
-('2025-04-05 12:00:00.000000', 1, 3, 5),
-('2025-04-08 13:00:00.000000', 1, 3, 6),
-('2025-04-09 10:00:00.000000', 1, 3, 7),
-('2025-04-10 14:00:00.000000', 1, 3, 8),
-('2025-04-11 13:00:00.000000', 1, 3, 9),
-('2025-04-12 09:00:00.000000', 1, 3, 10),
-('2025-04-01 14:00:00.000000', 1, 4, 1),
-('2025-04-02 12:00:00.000000', 1, 4, 2),
-('2025-04-03 14:00:00.000000', 1, 4, 3),
-('2025-04-04 16:00:00.000000', 1, 4, 4),
-('2025-04-05 14:00:00.000000', 1, 4, 5),
-('2025-04-09 11:00:00.000000', 1, 4, 6),
-('2025-04-10 13:00:00.000000', 1, 4, 7);
+INSERT INTO appointment (id, appointment_time, status, doctor_id, patient_id) VALUES
+(1, '2025-05-01 09:00:00.000000', 0, 1, 1),
+(2, '2025-05-02 10:00:00.000000', 0, 1, 2),
+(3, '2025-05-03 11:00:00.000000', 0, 1, 3),
+(4, '2025-05-04 14:00:00.000000', 0, 1, 4),
+(5, '2025-05-05 15:00:00.000000', 0, 1, 5),
+(6, '2025-05-06 13:00:00.000000', 0, 1, 6),
+(7, '2025-05-07 09:00:00.000000', 0, 1, 7),
+(8, '2025-05-08 16:00:00.000000', 0, 1, 8),
+(9, '2025-05-09 11:00:00.000000', 0, 1, 9),
+(10, '2025-05-10 10:00:00.000000', 0, 1, 10),
+(11, '2025-05-11 12:00:00.000000', 0, 1, 11),
+(12, '2025-05-12 15:00:00.000000', 0, 1, 12),
+(13, '2025-05-13 13:00:00.000000', 0, 1, 13),
+(14, '2025-05-14 10:00:00.000000', 0, 1, 14),
+(15, '2025-05-15 11:00:00.000000', 0, 1, 15),
+(16, '2025-05-16 14:00:00.000000', 0, 1, 16),
+(17, '2025-05-17 09:00:00.000000', 0, 1, 17),
+(18, '2025-05-18 12:00:00.000000', 0, 1, 18),
+(19, '2025-05-19 13:00:00.000000', 0, 1, 19),
+(20, '2025-05-20 16:00:00.000000', 0, 1, 20),
+(21, '2025-05-21 14:00:00.000000', 0, 1, 21),
+(22, '2025-05-22 10:00:00.000000', 0, 1, 22),
+(23, '2025-05-23 11:00:00.000000', 0, 1, 23),
+(24, '2025-05-24 15:00:00.000000', 0, 1, 24),
+(25, '2025-05-25 09:00:00.000000', 0, 1, 25),
+(26, '2025-05-01 10:00:00.000000', 0, 2, 1),
+(27, '2025-05-02 11:00:00.000000', 0, 3, 2),
+(28, '2025-05-03 14:00:00.000000', 0, 4, 3),
+(29, '2025-05-04 15:00:00.000000', 0, 5, 4),
+(30, '2025-05-05 10:00:00.000000', 0, 6, 5),
+(31, '2025-05-06 11:00:00.000000', 0, 7, 6),
+(32, '2025-05-07 14:00:00.000000', 0, 8, 7),
+(33, '2025-05-08 15:00:00.000000', 0, 9, 8),
+(34, '2025-05-09 10:00:00.000000', 0, 10, 9),
+(35, '2025-05-10 14:00:00.000000', 0, 11, 10),
+(36, '2025-05-11 13:00:00.000000', 0, 12, 11),
+(37, '2025-05-12 14:00:00.000000', 0, 13, 12),
+(38, '2025-05-13 15:00:00.000000', 0, 14, 13),
+(39, '2025-05-14 10:00:00.000000', 0, 15, 14),
+(40, '2025-05-15 11:00:00.000000', 0, 16, 15),
+(41, '2025-05-16 14:00:00.000000', 0, 17, 16),
+(42, '2025-05-17 10:00:00.000000', 0, 18, 17),
+(43, '2025-05-18 13:00:00.000000', 0, 19, 18),
+(44, '2025-05-19 14:00:00.000000', 0, 20, 19),
+(45, '2025-05-20 11:00:00.000000', 0, 21, 20),
+(46, '2025-05-21 13:00:00.000000', 0, 22, 21),
+(47, '2025-05-22 14:00:00.000000', 0, 23, 22),
+(48, '2025-05-23 10:00:00.000000', 0, 24, 23),
+(49, '2025-05-24 15:00:00.000000', 0, 25, 24),
+(50, '2025-05-25 13:00:00.000000', 0, 25, 25),
+(51, '2025-04-01 10:00:00.000000', 1, 1, 2),
+(52, '2025-04-02 11:00:00.000000', 1, 2, 3),
+(53, '2025-04-03 14:00:00.000000', 1, 3, 4),
+(54, '2025-04-04 15:00:00.000000', 1, 4, 5),
+(55, '2025-04-05 10:00:00.000000', 1, 5, 6),
+(56, '2025-04-06 11:00:00.000000', 1, 6, 7),
+(57, '2025-04-07 14:00:00.000000', 1, 7, 8),
+(58, '2025-04-08 15:00:00.000000', 1, 8, 9),
+(59, '2025-04-09 10:00:00.000000', 1, 9, 10),
+(60, '2025-04-10 14:00:00.000000', 1, 10, 11),
+(61, '2025-04-11 13:00:00.000000', 1, 11, 12),
+(62, '2025-04-12 14:00:00.000000', 1, 12, 13),
+(63, '2025-04-13 15:00:00.000000', 1, 13, 14),
+(64, '2025-04-14 10:00:00.000000', 1, 14, 15),
+(65, '2025-04-15 11:00:00.000000', 1, 15, 16),
+(66, '2025-04-16 14:00:00.000000', 1, 16, 17),
+(67, '2025-04-17 10:00:00.000000', 1, 17, 18),
+(68, '2025-04-18 13:00:00.000000', 1, 18, 19),
+(69, '2025-04-19 14:00:00.000000', 1, 19, 20),
+(70, '2025-04-20 11:00:00.000000', 1, 20, 21),
+(71, '2025-04-21 13:00:00.000000', 1, 21, 22),
+(72, '2025-04-22 14:00:00.000000', 1, 22, 23),
+(73, '2025-04-23 10:00:00.000000', 1, 23, 24),
+(74, '2025-04-24 15:00:00.000000', 1, 24, 25),
+(75, '2025-04-25 13:00:00.000000', 1, 25, 25),
+(76, '2025-04-01 09:00:00.000000', 1, 1, 1),
+(77, '2025-04-02 10:00:00.000000', 1, 1, 2),
+(78, '2025-04-03 11:00:00.000000', 1, 1, 3),
+(79, '2025-04-04 14:00:00.000000', 1, 1, 4),
+(80, '2025-04-05 10:00:00.000000', 1, 1, 5),
+(81, '2025-04-10 10:00:00.000000', 1, 1, 6),
+(82, '2025-04-11 09:00:00.000000', 1, 1, 7),
+(83, '2025-04-14 13:00:00.000000', 1, 1, 8),
+(84, '2025-04-01 10:00:00.000000', 1, 2, 1),
+(85, '2025-04-01 11:00:00.000000', 1, 2, 2),
+(86, '2025-04-02 09:00:00.000000', 1, 2, 3),
+(87, '2025-04-02 10:00:00.000000', 1, 2, 4),
+(88, '2025-04-03 11:00:00.000000', 1, 2, 5),
+(89, '2025-04-03 12:00:00.000000', 1, 2, 6),
+(90, '2025-04-04 14:00:00.000000', 1, 2, 7),
+(91, '2025-04-04 15:00:00.000000', 1, 2, 8),
+(92, '2025-04-05 10:00:00.000000', 1, 2, 9),
+(93, '2025-04-05 11:00:00.000000', 1, 2, 10),
+(94, '2025-04-06 13:00:00.000000', 1, 2, 11),
+(95, '2025-04-06 14:00:00.000000', 1, 2, 12),
+(96, '2025-04-07 09:00:00.000000', 1, 2, 13),
+(97, '2025-04-07 10:00:00.000000', 1, 2, 14),
+(98, '2025-04-08 11:00:00.000000', 1, 2, 15),
+(99, '2025-04-08 12:00:00.000000', 1, 2, 16),
+(100, '2025-04-09 13:00:00.000000', 1, 2, 17),
+(101, '2025-04-09 14:00:00.000000', 1, 2, 18),
+(102, '2025-04-10 11:00:00.000000', 1, 2, 19),
+(103, '2025-04-10 12:00:00.000000', 1, 2, 20),
+(104, '2025-04-11 14:00:00.000000', 1, 2, 21),
+(105, '2025-04-11 15:00:00.000000', 1, 2, 22),
+(106, '2025-04-12 10:00:00.000000', 1, 2, 23),
+(107, '2025-04-12 11:00:00.000000', 1, 2, 24),
+(108, '2025-04-13 13:00:00.000000', 1, 2, 25),
+(109, '2025-04-13 14:00:00.000000', 1, 2, 1),
+(110, '2025-04-14 09:00:00.000000', 1, 2, 2),
+(111, '2025-04-14 10:00:00.000000', 1, 2, 3),
+(112, '2025-04-15 12:00:00.000000', 1, 2, 4),
+(113, '2025-04-15 13:00:00.000000', 1, 2, 5),
+(114, '2025-04-01 12:00:00.000000', 1, 3, 1),
+(115, '2025-04-02 11:00:00.000000', 1, 3, 2),
+(116, '2025-04-03 13:00:00.000000', 1, 3, 3),
+(117, '2025-04-04 15:00:00.000000', 1, 3, 4),
+(118, '2025-04-05 12:00:00.000000', 1, 3, 5),
+(119, '2025-04-08 13:00:00.000000', 1, 3, 6),
+(120, '2025-04-09 10:00:00.000000', 1, 3, 7),
+(121, '2025-04-10 14:00:00.000000', 1, 3, 8),
+(122, '2025-04-11 13:00:00.000000', 1, 3, 9),
+(123, '2025-04-12 09:00:00.000000', 1, 3, 10),
+(124, '2025-04-01 14:00:00.000000', 1, 4, 1),
+(125, '2025-04-02 12:00:00.000000', 1, 4, 2),
+(126, '2025-04-03 14:00:00.000000', 1, 4, 3),
+(127, '2025-04-04 16:00:00.000000', 1, 4, 4),
+(128, '2025-04-05 14:00:00.000000', 1, 4, 5),
+(129, '2025-04-09 11:00:00.000000', 1, 4, 6),
+(130, '2025-04-10 13:00:00.000000', 1, 4, 7);
+
+-- Appointment ids come from the pooled appointment_seq; move it past the rows above
+DELETE FROM appointment_seq;
+INSERT INTO appointment_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM appointment;
 
 INSERT INTO admin (username, password)
 VALUES ('admin', 'admin@1234');
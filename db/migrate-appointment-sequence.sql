@@ -0,0 +1,16 @@
+-- Appointment ids now come from the pooled appointment_seq (50 ids per call)
+-- instead of AUTO_INCREMENT, so Hibernate can batch the inserts of a booking
+-- series. Run once with the application stopped, before starting a build that
+-- maps Appointment.id with @SequenceGenerator, and again after loading rows
+-- that bypass the application (inserts.sql does this itself).
+
+CREATE TABLE IF NOT EXISTS appointment_seq (
+    next_val BIGINT
+);
+
+-- The pooled optimizer hands out [next_val - 49, next_val], so start 50 past
+-- the highest existing id.
+DELETE FROM appointment_seq;
+
+INSERT INTO appointment_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM appointment;
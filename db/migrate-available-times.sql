@@ -0,0 +1,27 @@
+-- Converts doctor_available_times from 'HH:mm-HH:mm' strings to minute-of-day
+-- columns used by the TimeSlot embeddable. Run once, before starting a build
+-- that maps Doctor.availableTimes to TimeSlot.
+
+ALTER TABLE doctor_available_times
+    ADD COLUMN start_minute INT NULL,
+    ADD COLUMN end_minute INT NULL;
+
+UPDATE doctor_available_times
+SET
+    start_minute = TIME_TO_SEC(TRIM(SUBSTRING_INDEX(available_times, '-', 1))) DIV 60,
+    end_minute = TIME_TO_SEC(TRIM(SUBSTRING_INDEX(available_times, '-', -1))) DIV 60
+WHERE
+    available_times IS NOT NULL;
+
+-- Rows that could not be parsed are reported here and removed
+SELECT doctor_id, available_times
+FROM doctor_available_times
+WHERE start_minute IS NULL OR end_minute IS NULL OR start_minute >= end_minute;
+
+DELETE FROM doctor_available_times
+WHERE start_minute IS NULL OR end_minute IS NULL OR start_minute >= end_minute;
+
+ALTER TABLE doctor_available_times
+    MODIFY start_minute INT NOT NULL,
+    MODIFY end_minute INT NOT NULL,
+    DROP COLUMN available_times;
@@ -0,0 +1,17 @@
+-- Doctor ids now come from the pooled doctor_seq (50 ids per call) instead of
+-- AUTO_INCREMENT, so Hibernate can batch doctor inserts. MySQL has no
+-- sequences; Hibernate keeps the next value in a one-row table.
+-- Run once with the application stopped, before starting a build that maps
+-- Doctor.id with @SequenceGenerator, and again after loading rows that bypass
+-- the application (inserts.sql does this itself).
+
+CREATE TABLE IF NOT EXISTS doctor_seq (
+    next_val BIGINT
+);
+
+-- The pooled optimizer hands out [next_val - 49, next_val], so start 50 past
+-- the highest existing id.
+DELETE FROM doctor_seq;
+
+INSERT INTO doctor_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM doctor;
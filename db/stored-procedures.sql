@@ -17,7 +17,9 @@ BEGIN
     JOIN 
         patient p ON a.patient_id = p.id
     WHERE 
-        DATE(a.appointment_time) = report_date
+        -- half-open range instead of DATE(...) so idx_appointment_time_doctor applies
+        a.appointment_time >= report_date
+        AND a.appointment_time < report_date + INTERVAL 1 DAY
     ORDER BY 
         d.name, a.appointment_time;
 END$$
@@ -27,18 +29,19 @@ CREATE PROCEDURE GetDoctorWithMostPatientsByMonth(
     IN input_year INT
 )
 BEGIN
+    -- reads the rollup maintained by the application instead of grouping every appointment
     SELECT
-        doctor_id, 
-        COUNT(patient_id) AS patients_seen
+        c.doctor_id, 
+        c.appointments AS patients_seen
     FROM
-        appointment
+        doctor_monthly_count c
+    JOIN
+        doctor d ON d.id = c.doctor_id
     WHERE
-        MONTH(appointment_time) = input_month 
-        AND YEAR(appointment_time) = input_year
-    GROUP BY
-        doctor_id
+        c.period_year = input_year
+        AND c.period_month = input_month
     ORDER BY
-        patients_seen DESC
+        c.appointments DESC
     LIMIT 1;
 END $$
 
@@ -46,17 +49,19 @@ CREATE PROCEDURE GetDoctorWithMostPatientsByYear(
     IN input_year INT
 )
 BEGIN
+    -- period_month 0 holds each doctor's total for the year
     SELECT
-        doctor_id, 
-        COUNT(patient_id) AS patients_seen
+        c.doctor_id, 
+        c.appointments AS patients_seen
     FROM
-        appointment
+        doctor_monthly_count c
+    JOIN
+        doctor d ON d.id = c.doctor_id
     WHERE
-        YEAR(appointment_time) = input_year
-    GROUP BY
-        doctor_id
+        c.period_year = input_year
+        AND c.period_month = 0
     ORDER BY
-        patients_seen DESC
+        c.appointments DESC
     LIMIT 1;
 END $$
 